@@ -0,0 +1,19 @@
+package com.junit.benchmark;
+
+import com.junit.SpringBootTestingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// boots the application against the in-memory H2 profile; the jmh profile turns off the web server and the noise
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... properties) {
+        return new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .profiles("h2", "jmh")
+                .properties(properties)
+                .run();
+    }
+}
@@ -0,0 +1,76 @@
+package com.junit.benchmark;
+
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the four equivalent name lookups; the query cache is off so each call reaches the database
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeLookupBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private ConfigurableApplicationContext context;
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start("spring.jpa.properties.hibernate.cache.use_query_cache=false");
+        employeeRepository = context.getBean(EmployeeRepository.class);
+        List<Employee> employees = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            employees.add(Employee.builder()
+                    .firstName("First" + i)
+                    .lastName("Last" + i)
+                    .email("employee" + i + "@gmail.com")
+                    .build());
+        }
+        employeeRepository.saveAll(employees);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee derived() {
+        return employeeRepository.findFirstByFirstNameAndLastName("First5000", "Last5000");
+    }
+
+    @Benchmark
+    public Employee jpql() {
+        return employeeRepository.findByJPQL("First5000", "Last5000");
+    }
+
+    @Benchmark
+    public Employee jpqlNamedParams() {
+        return employeeRepository.findByJPQLNamedParams("First5000", "Last5000");
+    }
+
+    @Benchmark
+    public Employee nativeSql() {
+        return employeeRepository.findByNativeSQL("First5000", "Last5000");
+    }
+}
@@ -0,0 +1,66 @@
+package com.junit.benchmark;
+
+import com.junit.model.Employee;
+import com.junit.servcie.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private EmployeeService employeeService;
+    private Long existingId;
+    // every insert needs a fresh email to get past the duplicate check
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkContext.start();
+        employeeService = context.getBean(EmployeeService.class);
+        existingId = employeeService.saveEmployee(employee(sequence.incrementAndGet())).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Employee saveEmployee() {
+        return employeeService.saveEmployee(employee(sequence.incrementAndGet()));
+    }
+
+    // served from the application cache after the first call
+    @Benchmark
+    public Employee getEmployeeById() {
+        return employeeService.getEmployeeById(existingId).orElseThrow();
+    }
+
+    private static Employee employee(long n) {
+        return Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani" + n + "@gmail.com")
+                .build();
+    }
+}
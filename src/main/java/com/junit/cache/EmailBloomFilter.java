@@ -0,0 +1,148 @@
+package com.junit.cache;
+
+import com.junit.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Negative cache of known employee emails. A definite miss lets creates skip the existence query;
+ * a possible hit still has to be confirmed against the database. Deleted emails cannot be removed
+ * from a Bloom filter, they only raise the false-positive rate until the next scheduled rebuild.
+ * Until the first load finishes every email is reported as a possible hit.
+ */
+@Component
+public class EmailBloomFilter {
+
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final boolean enabled;
+
+    private volatile BloomFilter current;
+    // emails put while a rebuild runs, replayed into the new filter just before it is swapped in; guarded by swapLock
+    private Set<String> putsDuringRebuild;
+    private final Object swapLock = new Object();
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    @Autowired
+    public EmailBloomFilter(EmployeeRepository employeeRepository,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${employee.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                            @Value("${employee.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                            @Value("${employee.email-filter.enabled:true}") boolean enabled) {
+        this.employeeRepository = employeeRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.enabled = enabled;
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter filter = current;
+        if (!enabled || filter == null) {
+            return true;
+        }
+        if (filter.mightContain(normalize(email))) {
+            possibleHits.increment();
+            return true;
+        }
+        definiteMisses.increment();
+        return false;
+    }
+
+    // called when the database check behind a possible hit found nothing
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    public void put(String email) {
+        String normalized = normalize(email);
+        synchronized (swapLock) {
+            BloomFilter filter = current;
+            if (filter != null) {
+                filter.put(normalized);
+            }
+            if (putsDuringRebuild != null) {
+                putsDuringRebuild.add(normalized);
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(initialDelayString = "${employee.email-filter.rebuild-interval:PT6H}",
+            fixedDelayString = "${employee.email-filter.rebuild-interval:PT6H}")
+    public synchronized void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // recording starts before the scan's snapshot is taken, so a committed email is either scanned or replayed
+        synchronized (swapLock) {
+            putsDuringRebuild = new HashSet<>();
+        }
+        try {
+            BloomFilter next = readOnlyTransaction.execute(status -> {
+                // size for at least twice the current table so the filter does not saturate between rebuilds
+                BloomFilter filter = BloomFilter.create(Math.max(expectedInsertions, 2 * employeeRepository.count()), falsePositiveRate);
+                try (Stream<String> emails = employeeRepository.streamAllEmails()) {
+                    emails.forEach(email -> filter.put(normalize(email)));
+                }
+                return filter;
+            });
+            synchronized (swapLock) {
+                putsDuringRebuild.forEach(next::put);
+                current = next;
+            }
+        } finally {
+            synchronized (swapLock) {
+                putsDuringRebuild = null;
+            }
+        }
+    }
+
+    public boolean isLoaded() {
+        return current != null;
+    }
+
+    public double expectedFalsePositiveRate() {
+        BloomFilter filter = current;
+        return filter == null ? 1.0 : filter.expectedFalsePositiveRate();
+    }
+
+    public double observedFalsePositiveRate() {
+        long hits = possibleHits.sum();
+        return hits == 0 ? 0.0 : (double) falsePositives.sum() / hits;
+    }
+
+    public long definiteMisses() {
+        return definiteMisses.sum();
+    }
+
+    public long possibleHits() {
+        return possibleHits.sum();
+    }
+
+    public static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
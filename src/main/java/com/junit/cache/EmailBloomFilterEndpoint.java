@@ -0,0 +1,37 @@
+package com.junit.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "emailfilter")
+public class EmailBloomFilterEndpoint {
+
+    private final EmailBloomFilter emailBloomFilter;
+
+    public EmailBloomFilterEndpoint(EmailBloomFilter emailBloomFilter) {
+        this.emailBloomFilter = emailBloomFilter;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("loaded", emailBloomFilter.isLoaded());
+        result.put("expectedFalsePositiveRate", emailBloomFilter.expectedFalsePositiveRate());
+        result.put("observedFalsePositiveRate", emailBloomFilter.observedFalsePositiveRate());
+        result.put("definiteMisses", emailBloomFilter.definiteMisses());
+        result.put("possibleHits", emailBloomFilter.possibleHits());
+        return result;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        emailBloomFilter.rebuild();
+        return stats();
+    }
+}
@@ -0,0 +1,91 @@
+package com.junit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.junit.model.Employee;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size and TTL bounded cache of employees by id. Entries are private copies, so callers are free to
+ * mutate what they get back without corrupting the cached value.
+ */
+@Component
+public class EmployeeCache {
+
+    private final Cache<Long, Employee> cache;
+
+    @Autowired
+    public EmployeeCache(@Value("${employee.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${employee.cache.time-to-live:10m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Loads are atomic per id: a put or invalidate for the same id waits for an in-flight load, so a
+     * load that read the old row can never overwrite a newer value written after the update committed.
+     */
+    public Optional<Employee> get(Long id, Function<Long, Optional<Employee>> loader) {
+        Employee cached = cache.get(id, key -> loader.apply(key).map(EmployeeCache::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(EmployeeCache::copyOf);
+    }
+
+    public void put(Employee employee) {
+        cache.put(employee.getId(), copyOf(employee));
+    }
+
+    // inside a transaction the entry is only refreshed once the write is committed
+    public void putAfterCommit(Employee employee) {
+        afterCommit(() -> put(employee));
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    // invalidating before commit would let a concurrent miss reload the old row into the cache
+    public void invalidateAfterCommit(Long id) {
+        afterCommit(() -> invalidate(id));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return employee.toBuilder().build();
+    }
+}
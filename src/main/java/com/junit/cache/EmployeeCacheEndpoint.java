@@ -0,0 +1,32 @@
+package com.junit.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@Endpoint(id = "employeecache")
+public class EmployeeCacheEndpoint {
+
+    private final EmployeeCache employeeCache;
+
+    public EmployeeCacheEndpoint(EmployeeCache employeeCache) {
+        this.employeeCache = employeeCache;
+    }
+
+    @ReadOperation
+    public Map<String, Object> stats() {
+        CacheStats stats = employeeCache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", employeeCache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        result.put("hitRate", stats.hitRate());
+        return result;
+    }
+}
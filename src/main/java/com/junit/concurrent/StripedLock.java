@@ -0,0 +1,35 @@
+package com.junit.concurrent;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash. Equal keys always map to the same lock; different keys
+ * only contend when they land on the same stripe.
+ */
+public class StripedLock {
+
+    private final Lock[] locks;
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new Lock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public Lock lockFor(Object key) {
+        int hash = key.hashCode() * 0x9E3779B9;
+        return locks[(hash ^ (hash >>> 16)) & mask];
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,16 @@
+package com.junit.config;
+
+import com.junit.concurrent.StripedLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class EmployeeServiceConfig {
+
+    // serialises creates that share a normalised email while creates for other emails run in parallel
+    @Bean
+    public StripedLock employeeEmailLocks(@Value("${employee.create.lock-stripes:64}") int stripes) {
+        return new StripedLock(stripes);
+    }
+}
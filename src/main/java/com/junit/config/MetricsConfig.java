@@ -0,0 +1,44 @@
+package com.junit.config;
+
+import com.junit.controller.EmployeeController;
+import com.junit.metrics.TimedMethodInterceptor;
+import com.junit.metrics.TypeMethodsPointcut;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.EmployeeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+// the timers wrap the transaction interceptor, so service and repository timings include the commit
+@Configuration
+public class MetricsConfig {
+
+    static final String CONTROLLER_TIMER = "employee.controller";
+    static final String SERVICE_TIMER = "employee.service";
+    static final String REPOSITORY_TIMER = "employee.repository";
+
+    @Bean
+    public Advisor employeeControllerTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(EmployeeController.class, new TimedMethodInterceptor(meterRegistry::getObject, CONTROLLER_TIMER, "controller"));
+    }
+
+    @Bean
+    public Advisor employeeServiceTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(EmployeeService.class, new TimedMethodInterceptor(meterRegistry::getObject, SERVICE_TIMER, "service"));
+    }
+
+    @Bean
+    public Advisor employeeRepositoryTimingAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return advisor(EmployeeRepository.class, new TimedMethodInterceptor(meterRegistry::getObject, REPOSITORY_TIMER, "repository"));
+    }
+
+    private static Advisor advisor(Class<?> type, TimedMethodInterceptor interceptor) {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(new TypeMethodsPointcut(type), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -0,0 +1,111 @@
+package com.junit.config;
+
+import com.junit.datasource.HedgedEmployeeReader;
+import com.junit.datasource.LatencyTracker;
+import com.junit.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// only active when replicas are listed; otherwise Boot's single pool is used as before
+@Configuration
+@ConditionalOnProperty("employee.datasource.replica-urls")
+public class ReplicaDataSourceConfig {
+
+    // the pools are owned by the router rather than registered as beans, so JPA, health and the
+    // datasource-proxy wrapper only ever see the routed data source
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties,
+                                                             @Value("${employee.datasource.replica-urls}") List<String> replicaUrls,
+                                                             @Value("${employee.datasource.replica-health-check-interval:10s}") Duration healthCheckInterval) {
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary");
+        List<DataSource> replicas = new ArrayList<>(replicaUrls.size());
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool(properties, replicaUrls.get(i).trim(), "replica-" + i));
+        }
+        return new ReplicaRoutingDataSource(primary, replicas, healthCheckInterval);
+    }
+
+    // the registry cannot be asked for while the pools are built: Boot's pool metadata binder needs the router
+    // to create the registry. Hikari accepts a registry once, even after the pool has started
+    @Bean
+    public MeterBinder replicaPoolMetrics(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return registry -> {
+            for (DataSource dataSource : replicaRoutingDataSource.targetDataSources()) {
+                HikariDataSource pool = (HikariDataSource) dataSource;
+                if (pool.getMetricRegistry() == null) {
+                    pool.setMetricRegistry(registry);
+                }
+            }
+        };
+    }
+
+    // defers the physical connection to the first statement, when the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // getEmployeeById goes to a second replica when the first is slower than the tracked percentile
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "employee.datasource.hedged-reads.enabled", havingValue = "true")
+    public HedgedEmployeeReader hedgedEmployeeReader(ReplicaRoutingDataSource replicaRoutingDataSource,
+                                                     @Value("${employee.datasource.hedged-reads.percentile:0.95}") double percentile,
+                                                     @Value("${employee.datasource.hedged-reads.initial-delay:20ms}") Duration initialDelay,
+                                                     @Value("${employee.datasource.hedged-reads.min-delay:2ms}") Duration minDelay,
+                                                     @Value("${employee.datasource.hedged-reads.max-threads:64}") int maxThreads,
+                                                     ObjectProvider<MeterRegistry> meterRegistry) {
+        LatencyTracker latencies = new LatencyTracker(1024, percentile, initialDelay.toNanos(), minDelay.toNanos());
+        HedgedEmployeeReader reader = new HedgedEmployeeReader(replicaRoutingDataSource::replicasByLoad, latencies, maxThreads);
+        meterRegistry.ifAvailable(registry -> {
+            FunctionCounter.builder("employee.hedged.reads", reader, HedgedEmployeeReader::hedges)
+                    .description("Reads re-sent to a second replica")
+                    .register(registry);
+            FunctionCounter.builder("employee.hedged.wins", reader, HedgedEmployeeReader::hedgeWins)
+                    .description("Hedged reads answered first by the second replica")
+                    .register(registry);
+            FunctionCounter.builder("employee.hedged.skipped", reader, HedgedEmployeeReader::skippedHedges)
+                    .description("Hedges not sent because the read pool was saturated")
+                    .register(registry);
+        });
+        return reader;
+    }
+
+    @Bean
+    public HealthIndicator replicasHealthIndicator(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return () -> {
+            int healthy = replicaRoutingDataSource.healthyReplicas();
+            // reads still work off the primary, so losing replicas degrades rather than fails the service
+            Health.Builder builder = healthy > 0 ? Health.up() : Health.status("DEGRADED");
+            return builder.withDetail("healthy", healthy)
+                    .withDetail("configured", replicaRoutingDataSource.replicaCount())
+                    .build();
+        };
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, String url, String name) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        dataSource.setPoolName(name);
+        return dataSource;
+    }
+}
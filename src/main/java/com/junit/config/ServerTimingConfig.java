@@ -0,0 +1,65 @@
+package com.junit.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.datasource.ReplicaRoutingDataSource;
+import com.junit.metrics.ServerTimingJacksonConverter;
+import com.junit.metrics.ServerTimingQueryListener;
+import com.junit.metrics.ServerTimingServiceInterceptor;
+import com.junit.metrics.TypeMethodsPointcut;
+import com.junit.servcie.EmployeeService;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class ServerTimingConfig {
+
+    // wraps the pool in a datasource-proxy that notifies every QueryExecutionListener bean;
+    // the replica router already sits behind the wrapped lazy proxy, wrapping it too would count statements twice.
+    // with Server-Timing switched off nothing reads the timings, so the pool is left unwrapped
+    @Bean
+    @ConditionalOnProperty(name = "employee.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+    public static BeanPostProcessor queryListenerDataSourcePostProcessor(
+            ObjectProvider<QueryExecutionListener> queryExecutionListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || bean instanceof ReplicaRoutingDataSource) {
+                    return bean;
+                }
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean).name(beanName);
+                queryExecutionListeners.orderedStream().forEach(builder::listener);
+                return builder.build();
+            }
+        };
+    }
+
+    @Bean
+    public ServerTimingQueryListener serverTimingQueryListener() {
+        return new ServerTimingQueryListener();
+    }
+
+    // replaces Boot's converter, the subclass only changes behaviour for requests that asked for timing
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new ServerTimingJacksonConverter(objectMapper);
+    }
+
+    @Bean
+    public Advisor employeeServiceServerTimingAdvisor() {
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+                new TypeMethodsPointcut(EmployeeService.class), new ServerTimingServiceInterceptor());
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return advisor;
+    }
+}
@@ -1,52 +1,207 @@
 package com.junit.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.junit.dto.CreateStatus;
+import com.junit.dto.EmployeeField;
+import com.junit.dto.EmployeeFieldsPage;
+import com.junit.dto.EmployeeLookupResult;
+import com.junit.dto.EmployeePage;
+import com.junit.dto.EmployeePatch;
+import com.junit.dto.ImportResult;
 import com.junit.model.Employee;
+import com.junit.servcie.EmployeeImportService;
 import com.junit.servcie.EmployeeService;
+import com.junit.writebehind.WriteBehindCreateService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
+    static final int MAX_MULTI_GET_IDS = 10000;
+    static final String PREFER_HEADER = "Prefer";
+    static final String RESPOND_ASYNC = "respond-async";
+    // page size when a cursor is sent without a limit
+    static final int DEFAULT_PAGE_SIZE = 100;
+
     private EmployeeService employeeService;
+    private EmployeeImportService employeeImportService;
+    private ObjectMapper objectMapper;
+    private ObjectWriter exportWriter;
+    // only present when write-behind is enabled
+    private ObjectProvider<WriteBehindCreateService> writeBehindCreateService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeImportService employeeImportService,
+                              ObjectMapper objectMapper, ObjectProvider<WriteBehindCreateService> writeBehindCreateService) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.writeBehindCreateService = writeBehindCreateService;
     }
 
+    // Prefer is a hint: without write-behind, or without respond-async among its preferences, the create is synchronous
     @PostMapping
+    public ResponseEntity<Object> createEmployee(@RequestBody Employee employee,
+            @RequestHeader(value = PREFER_HEADER, required = false) List<String> preferences){
+        WriteBehindCreateService writeBehind = writeBehindCreateService.getIfAvailable();
+        if (writeBehind != null && prefersRespondAsync(preferences)) {
+            CreateStatus status = writeBehind.enqueue(employee);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/employees/creates/" + status.getTrackingId()))
+                    .header("Preference-Applied", RESPOND_ASYNC)
+                    .body(status);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(employeeService.saveEmployee(employee));
+    }
+
+    @PostMapping("/batch")
     @ResponseStatus(HttpStatus.CREATED)
-    public Employee createEmployee(@RequestBody Employee employee){
-        return employeeService.saveEmployee(employee);
+    public List<Employee> createEmployees(@RequestBody List<Employee> employees){
+        return employeeService.saveAllEmployees(employees);
+    }
+
+    // raw text/csv body rather than multipart, so the upload is parsed as it arrives instead of being spooled first
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ImportResult importEmployees(InputStream csv) throws IOException {
+        return employeeImportService.importCsv(csv);
     }
 
     @GetMapping
-    public List<Employee> getAllEmployees(){
-        return employeeService.getAllEmployees();
+    public ResponseEntity<List<Employee>> getAllEmployees(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            String etag = EmployeeETags.ofVersions(employeeService.getEmployeeVersions());
+            if (EmployeeETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
+        List<Employee> employees = employeeService.getAllEmployees();
+        return ResponseEntity.ok()
+                .eTag(EmployeeETags.ofEmployees(employees))
+                .body(employees);
+    }
+
+    @GetMapping(params = {"fields", "!ids", "!limit", "!after"})
+    public List<Map<String, Object>> getAllEmployeeFields(@RequestParam("fields") String fields){
+        return employeeService.getAllEmployees(parseFields(fields));
+    }
+
+    @GetMapping(params = {"limit", "!ids"})
+    public EmployeePage getEmployeesPage(@RequestParam(value = "after", defaultValue = "0") Long afterId,
+                                         @RequestParam("limit") int limit){
+        return employeeService.getEmployeesAfter(afterId, limit);
+    }
+
+    // a cursor without a limit still pages, it must not fall through to the unbounded list
+    @GetMapping(params = {"after", "!limit", "!ids", "!fields"})
+    public EmployeePage getEmployeesPage(@RequestParam("after") Long afterId){
+        return employeeService.getEmployeesAfter(afterId, DEFAULT_PAGE_SIZE);
+    }
+
+    @GetMapping(params = {"limit", "fields", "!ids"})
+    public EmployeeFieldsPage getEmployeesPage(@RequestParam(value = "after", defaultValue = "0") Long afterId,
+                                               @RequestParam("limit") int limit,
+                                               @RequestParam("fields") String fields){
+        return employeeService.getEmployeesAfter(afterId, limit, parseFields(fields));
+    }
+
+    @GetMapping(params = {"after", "fields", "!limit", "!ids"})
+    public EmployeeFieldsPage getEmployeesPage(@RequestParam("after") Long afterId,
+                                               @RequestParam("fields") String fields){
+        return employeeService.getEmployeesAfter(afterId, DEFAULT_PAGE_SIZE, parseFields(fields));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees(){
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                employeeService.exportEmployees(employee -> {
+                    try {
+                        exportWriter.writeValue(generator, employee);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(params = "ids")
+    public EmployeeLookupResult getEmployeesByIds(@RequestParam("ids") List<Long> employeeIds,
+                                                  @RequestParam(value = "fields", required = false) String fields,
+                                                  @RequestParam(value = "limit", required = false) Integer limit,
+                                                  @RequestParam(value = "after", required = false) Long afterId){
+        // a multi-get always returns whole employees; silently dropping the other parameters would hide client bugs
+        if (fields != null || limit != null || afterId != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids cannot be combined with fields, limit or after");
+        }
+        if (employeeIds.size() > MAX_MULTI_GET_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_MULTI_GET_IDS + " ids per request");
+        }
+        return employeeService.getEmployeesByIds(employeeIds);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long employeeId){
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Long employeeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch){
+        if (ifNoneMatch != null) {
+            // version-only projection, the row is not hydrated when the client copy is still current
+            Optional<Long> version = employeeService.getEmployeeVersion(employeeId);
+            String etag = version.map(v -> EmployeeETags.of(employeeId, v)).orElse(null);
+            if (EmployeeETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+        }
         return employeeService.getEmployeeById(employeeId)
+                .map(employee -> withETag(ResponseEntity.ok(), EmployeeETags.of(employee)).body(employee))
+                .orElseGet(()->ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "{id}", params = "fields")
+    public ResponseEntity<Map<String, Object>> getEmployeeFieldsById(@PathVariable("id") Long employeeId,
+                                                                     @RequestParam("fields") String fields){
+        return employeeService.getEmployeeById(employeeId, parseFields(fields))
                 .map(ResponseEntity::ok)
                 .orElseGet(()->ResponseEntity.notFound().build());
     }
 
     @PutMapping("{id}")
     public ResponseEntity<Employee> updateEmployee(@PathVariable("id") Long employeeId, @RequestBody Employee employee){
-       return employeeService.getEmployeeById(employeeId)
-                .map(savedEmployee->{
-                    savedEmployee.setFirstName(employee.getFirstName());
-                    savedEmployee.setLastName(employee.getLastName());
-                    savedEmployee.setEmail(employee.getEmail());
-                    Employee updateEmployee = employeeService.updateEmployee(savedEmployee);
-                    return new ResponseEntity<>(updateEmployee,HttpStatus.OK);
-                })
-               .orElseGet(()->ResponseEntity.notFound().build());
+        Employee updateEmployee = employeeService.updateEmployee(employeeId, employee);
+        return new ResponseEntity<>(updateEmployee,HttpStatus.OK);
+    }
 
+    @PatchMapping("{id}")
+    public Employee patchEmployee(@PathVariable("id") Long employeeId, @RequestBody EmployeePatch patch){
+        return employeeService.patchEmployee(employeeId, patch);
+    }
+
+    @PutMapping("/by-email/{email}")
+    public Employee upsertEmployee(@PathVariable("email") String email, @RequestBody Employee employee){
+        return employeeService.upsertEmployee(email, employee);
     }
 
     @DeleteMapping("{id}")
@@ -54,4 +209,33 @@ public class EmployeeController {
         employeeService.deleteEmployee(employeeId);
         return new ResponseEntity<>("Employee deleted successfully",HttpStatus.OK);
     }
+
+    // rows without a version (or unsaved mocks) have no validator; eTag(null) would throw
+    private static ResponseEntity.BodyBuilder withETag(ResponseEntity.BodyBuilder builder, String etag) {
+        return etag == null ? builder : builder.eTag(etag);
+    }
+
+    // RFC 7240: comma separated preferences, each a case-insensitive token optionally followed by =value and ;parameters
+    static boolean prefersRespondAsync(List<String> preferences) {
+        if (preferences == null) {
+            return false;
+        }
+        for (String header : preferences) {
+            for (String preference : header.split(",")) {
+                String token = preference.split("[;=]", 2)[0].trim();
+                if (RESPOND_ASYNC.equalsIgnoreCase(token)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<EmployeeField> parseFields(String fields) {
+        try {
+            return EmployeeField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
 }
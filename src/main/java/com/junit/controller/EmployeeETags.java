@@ -0,0 +1,84 @@
+package com.junit.controller;
+
+import com.junit.dto.EmployeeVersion;
+import com.junit.model.Employee;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+// strong validators built from id and version only, so they can be checked without loading full rows
+final class EmployeeETags {
+
+    private EmployeeETags() {
+    }
+
+    static String of(Long id, Long version) {
+        if (id == null || version == null) {
+            return null;
+        }
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    static String of(Employee employee) {
+        return of(employee.getId(), employee.getVersion());
+    }
+
+    // both list variants must see rows in id order to produce the same tag
+    static String ofEmployees(List<Employee> employees) {
+        ListDigest digest = new ListDigest();
+        for (Employee employee : employees) {
+            digest.add(employee.getId(), employee.getVersion());
+        }
+        return digest.tag();
+    }
+
+    static String ofVersions(List<EmployeeVersion> versions) {
+        ListDigest digest = new ListDigest();
+        for (EmployeeVersion version : versions) {
+            digest.add(version.getId(), version.getVersion());
+        }
+        return digest.tag();
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class ListDigest {
+        private final MessageDigest digest;
+        private final ByteBuffer row = ByteBuffer.allocate(2 * Long.BYTES);
+
+        ListDigest() {
+            try {
+                digest = MessageDigest.getInstance("MD5");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(Long id, Long version) {
+            row.clear();
+            row.putLong(id == null ? -1L : id).putLong(version == null ? -1L : version);
+            digest.update(row.array());
+        }
+
+        String tag() {
+            StringBuilder tag = new StringBuilder("\"");
+            for (byte b : digest.digest()) {
+                tag.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return tag.append('"').toString();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.junit.controller;
+
+import com.junit.dto.CreateStatus;
+import com.junit.exception.ResourceNotFoundException;
+import com.junit.writebehind.WriteBehindCreateService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.*;
+
+// status of creates accepted with "Prefer: respond-async", see EmployeeController.createEmployee; only mapped when write-behind is enabled
+@RestController
+@RequestMapping("/api/employees")
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindController {
+    private WriteBehindCreateService writeBehindCreateService;
+
+    public WriteBehindController(WriteBehindCreateService writeBehindCreateService) {
+        this.writeBehindCreateService = writeBehindCreateService;
+    }
+
+    @GetMapping("/creates/{trackingId}")
+    public CreateStatus getCreateStatus(@PathVariable("trackingId") String trackingId){
+        return writeBehindCreateService.getStatus(trackingId)
+                .orElseThrow(() -> new ResourceNotFoundException("Create not found with given tracking id: "+trackingId));
+    }
+}
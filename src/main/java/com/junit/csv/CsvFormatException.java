@@ -0,0 +1,15 @@
+package com.junit.csv;
+
+public class CsvFormatException extends RuntimeException {
+
+    private final long line;
+
+    public CsvFormatException(long line, String message) {
+        super("Line " + line + ": " + message);
+        this.line = line;
+    }
+
+    public long getLine() {
+        return line;
+    }
+}
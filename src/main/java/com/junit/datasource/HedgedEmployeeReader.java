@@ -0,0 +1,218 @@
+package com.junit.datasource;
+
+import com.junit.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Single-row lookups by id against the replicas, hedged: when the first replica has not answered
+ * within the tracked latency percentile, the same query goes to a second one and whichever answers
+ * first wins. The other statement is cancelled so it does not keep a connection busy. The reads run
+ * on a bounded pool; when it is saturated the hedge is skipped rather than piling more load onto
+ * replicas that are already slow, and a first attempt that finds no free thread runs on the caller.
+ */
+@Slf4j
+public class HedgedEmployeeReader implements Closeable {
+
+    static final String SELECT_BY_ID = "select id, first_name, last_name, email, version from employees where id = ?";
+
+    private final Supplier<List<DataSource>> targets;
+    private final LatencyTracker latencies;
+    // the queries block on JDBC, so every running attempt holds a thread; no queue, a full pool rejects
+    private final ThreadPoolExecutor executor;
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder skippedHedges = new LongAdder();
+
+    public HedgedEmployeeReader(Supplier<List<DataSource>> targets, LatencyTracker latencies, int maxThreads) {
+        this.targets = targets;
+        this.latencies = latencies;
+        this.executor = new ThreadPoolExecutor(maxThreads, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "hedged-read");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public Optional<Employee> findById(Long id) {
+        List<DataSource> dataSources = targets.get();
+        Attempt first = new Attempt(dataSources.get(0), id);
+        if (!first.start()) {
+            first.run();
+            return await(first.result);
+        }
+        if (dataSources.size() < 2) {
+            return await(first.result);
+        }
+        try {
+            return first.result.get(latencies.percentileNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // slow or failed: either way the second replica gets the query
+        } catch (InterruptedException e) {
+            first.cancel();
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while reading employee " + id, e);
+        }
+        Attempt second = new Attempt(dataSources.get(1), id);
+        if (!second.start()) {
+            skippedHedges.increment();
+            return await(first.result);
+        }
+        hedges.increment();
+        CompletableFuture<Attempt> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (Attempt attempt : List.of(first, second)) {
+            attempt.result.whenComplete((employee, failure) -> {
+                if (failure == null) {
+                    winner.complete(attempt);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(failure);
+                }
+            });
+        }
+        try {
+            Attempt won = winner.get();
+            if (won == second) {
+                hedgeWins.increment();
+            }
+            return won.result.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while reading employee " + id, e);
+        } catch (ExecutionException e) {
+            throw new DataAccessResourceFailureException("Employee read failed on every replica", e.getCause());
+        } finally {
+            first.cancel();
+            second.cancel();
+        }
+    }
+
+    public long hedges() {
+        return hedges.sum();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    public long skippedHedges() {
+        return skippedHedges.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static Optional<Employee> await(CompletableFuture<Optional<Employee>> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessResourceFailureException("Interrupted while reading employee", e);
+        } catch (ExecutionException e) {
+            throw new DataAccessResourceFailureException("Employee read failed on every replica", e.getCause());
+        }
+    }
+
+    private final class Attempt {
+        private final CompletableFuture<Optional<Employee>> result = new CompletableFuture<>();
+        private final AtomicReference<Statement> running = new AtomicReference<>();
+        private final AtomicBoolean cancelled = new AtomicBoolean();
+        private final DataSource dataSource;
+        private final Long id;
+
+        private Attempt(DataSource dataSource, Long id) {
+            this.dataSource = dataSource;
+            this.id = id;
+        }
+
+        // false when every pool thread is busy
+        private boolean start() {
+            try {
+                executor.execute(this::run);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+
+        private void run() {
+            if (cancelled.get()) {
+                result.cancel(false);
+                return;
+            }
+            long start = System.nanoTime();
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement(SELECT_BY_ID)) {
+                statement.setLong(1, id);
+                running.set(statement);
+                // cancelled while the connection was being borrowed, cancel() may have missed the statement
+                if (cancelled.get()) {
+                    result.cancel(false);
+                    return;
+                }
+                Optional<Employee> employee = read(statement);
+                latencies.record(System.nanoTime() - start);
+                result.complete(employee);
+            } catch (SQLException | RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                running.set(null);
+            }
+        }
+
+        private void cancel() {
+            if (!cancelled.compareAndSet(false, true) || result.isDone()) {
+                return;
+            }
+            Statement statement = running.get();
+            if (statement != null) {
+                try {
+                    statement.cancel();
+                } catch (SQLException e) {
+                    log.debug("Cancelling a hedged read failed", e);
+                }
+            }
+        }
+    }
+
+    private static Optional<Employee> read(PreparedStatement statement) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery()) {
+            if (!resultSet.next()) {
+                return Optional.empty();
+            }
+            return Optional.of(Employee.builder()
+                    .id(resultSet.getLong("id"))
+                    .firstName(resultSet.getString("first_name"))
+                    .lastName(resultSet.getString("last_name"))
+                    .email(resultSet.getString("email"))
+                    .version(resultSet.getObject("version", Long.class))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.junit.datasource;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// percentile over a sliding window of the most recent samples; recording is a couple of atomic writes,
+// the percentile itself is recomputed every RECOMPUTE_EVERY samples and read from a volatile
+public class LatencyTracker {
+
+    static final int RECOMPUTE_EVERY = 32;
+
+    private final AtomicLongArray window;
+    private final AtomicLong recorded = new AtomicLong();
+    private final double percentile;
+    private final long minNanos;
+    private volatile long percentileNanos;
+
+    public LatencyTracker(int windowSize, double percentile, long initialNanos, long minNanos) {
+        if (percentile <= 0 || percentile >= 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1, was " + percentile);
+        }
+        this.window = new AtomicLongArray(windowSize);
+        this.percentile = percentile;
+        this.minNanos = minNanos;
+        this.percentileNanos = Math.max(initialNanos, minNanos);
+    }
+
+    public void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        window.set((int) (index % window.length()), nanos);
+        if ((index + 1) % RECOMPUTE_EVERY == 0) {
+            recompute(Math.min(index + 1, window.length()));
+        }
+    }
+
+    public long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute(long samples) {
+        long[] sorted = new long[(int) samples];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = window.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile * sorted.length) - 1;
+        percentileNanos = Math.max(minNanos, sorted[Math.max(rank, 0)]);
+    }
+}
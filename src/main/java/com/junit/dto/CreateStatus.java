@@ -0,0 +1,23 @@
+package com.junit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CreateStatus {
+    public enum State { PENDING, CREATED, REJECTED, FAILED }
+
+    private String trackingId;
+    private State state;
+    // set once the employee is created
+    private Long employeeId;
+    // why a create was rejected or failed
+    private String message;
+
+    public static CreateStatus pending(String trackingId) {
+        return new CreateStatus(trackingId, State.PENDING, null, null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.junit.dto;
+
+import com.junit.model.Employee;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// attributes a client may name in ?fields=, mapped to the entity attribute that is selected
+public enum EmployeeField {
+    ID("id", Employee::getId),
+    FIRST_NAME("firstName", Employee::getFirstName),
+    LAST_NAME("lastName", Employee::getLastName),
+    EMAIL("email", Employee::getEmail),
+    VERSION("version", Employee::getVersion);
+
+    private final String attribute;
+    private final Function<Employee, Object> getter;
+
+    EmployeeField(String attribute, Function<Employee, Object> getter) {
+        this.attribute = attribute;
+        this.getter = getter;
+    }
+
+    public String attribute() {
+        return attribute;
+    }
+
+    public static EmployeeField of(String attribute) {
+        for (EmployeeField field : values()) {
+            if (field.attribute.equals(attribute)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown employee field: " + attribute);
+    }
+
+    // "id,firstName" -> [ID, FIRST_NAME], keeping the requested order and dropping repeats
+    public static List<EmployeeField> parse(String fields) {
+        List<EmployeeField> result = new ArrayList<>();
+        for (String attribute : fields.split(",")) {
+            String trimmed = attribute.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            EmployeeField field = of(trimmed);
+            if (!result.contains(field)) {
+                result.add(field);
+            }
+        }
+        if (result.isEmpty()) {
+            throw new IllegalArgumentException("At least one employee field is required");
+        }
+        return result;
+    }
+
+    public static Map<String, Object> project(Employee employee, List<EmployeeField> fields) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        for (EmployeeField field : fields) {
+            row.put(field.attribute, field.getter.apply(employee));
+        }
+        return row;
+    }
+}
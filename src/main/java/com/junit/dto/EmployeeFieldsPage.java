@@ -0,0 +1,17 @@
+package com.junit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeFieldsPage {
+    // only the requested fields; id is always included because it is the cursor
+    private List<Map<String, Object>> content;
+    private Long nextCursor;
+}
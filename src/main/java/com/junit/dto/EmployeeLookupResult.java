@@ -0,0 +1,17 @@
+package com.junit.dto;
+
+import com.junit.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeLookupResult {
+    // in the order the ids were requested
+    private List<Employee> employees;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,17 @@
+package com.junit.dto;
+
+import com.junit.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeePage {
+    private List<Employee> content;
+    // id to pass as ?after= for the next page, null when this is the last page
+    private Long nextCursor;
+}
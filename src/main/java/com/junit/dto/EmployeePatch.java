@@ -0,0 +1,20 @@
+package com.junit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// null fields are left untouched; a non-null version must match the stored one
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeePatch {
+    private String firstName;
+    private String lastName;
+    private String email;
+    private Long version;
+}
@@ -0,0 +1,11 @@
+package com.junit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeVersion {
+    private Long id;
+    private Long version;
+}
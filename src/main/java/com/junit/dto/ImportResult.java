@@ -0,0 +1,18 @@
+package com.junit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult {
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    // the first errors only, failed has the full count
+    private List<ImportRowError> errors;
+}
@@ -0,0 +1,15 @@
+package com.junit.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowError {
+    // line in the uploaded file the row starts on, the header is line 1
+    private long line;
+    private String email;
+    private String message;
+}
@@ -0,0 +1,9 @@
+package com.junit.exception;
+
+public class CreateQueueFullException extends RuntimeException{
+public CreateQueueFullException(String message){
+    // expected outcome mapped to 503, so skip the stack trace capture
+    super(message, null, false, false);
+}
+
+}
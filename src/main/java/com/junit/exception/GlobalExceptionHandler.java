@@ -0,0 +1,76 @@
+package com.junit.exception;
+
+import com.junit.csv.CsvFormatException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders();
+    // fixed messages are built once; ErrorResponse and ResponseEntity are immutable so sharing them is safe.
+    // the id or email is not echoed back, the client already has it in the request it sent
+    private static final ResponseEntity<ErrorResponse> NOT_FOUND = error(HttpStatus.NOT_FOUND, "Employee not found");
+    private static final ResponseEntity<ErrorResponse> STALE_VERSION =
+            error(HttpStatus.CONFLICT, "Employee was modified concurrently, reload and retry");
+    private static final ResponseEntity<ErrorResponse> DUPLICATE_EMAIL =
+            error(HttpStatus.CONFLICT, "Employee already exists with the given email");
+    private static final ResponseEntity<ErrorResponse> INVALID_DATA =
+            error(HttpStatus.BAD_REQUEST, "Employee violates a data constraint");
+
+    @ExceptionHandler(ResourceNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNotFound(ResourceNotFoundException e) {
+        return NOT_FOUND;
+    }
+
+    @ExceptionHandler(ResourceAlreadyExistsException.class)
+    public ResponseEntity<ErrorResponse> handleAlreadyExists(ResourceAlreadyExistsException e) {
+        return DUPLICATE_EMAIL;
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleStaleVersion(OptimisticLockingFailureException e) {
+        return STALE_VERSION;
+    }
+
+    // constraint violations raised at commit time: only a collision on the unique email index is a conflict,
+    // anything else (a null or oversized column) is a bad request
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleIntegrityViolation(DataIntegrityViolationException e) {
+        return ConstraintViolations.isDuplicateEmail(e) ? DUPLICATE_EMAIL : INVALID_DATA;
+    }
+
+    // an upload without the expected CSV header
+    @ExceptionHandler(CsvFormatException.class)
+    public ResponseEntity<ErrorResponse> handleCsvFormat(CsvFormatException e) {
+        return error(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    // back-pressure from the write-behind queue; the client should retry shortly or fall back to a synchronous create
+    @ExceptionHandler(CreateQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleQueueFull(CreateQueueFullException e) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+        return new ResponseEntity<>(new ErrorResponse(status.value(), status.getReasonPhrase(), e.getMessage()),
+                headers, status);
+    }
+
+    private static ResponseEntity<ErrorResponse> error(HttpStatus status, String message) {
+        return new ResponseEntity<>(new ErrorResponse(status.value(), status.getReasonPhrase(), message),
+                JSON_HEADERS, status);
+    }
+
+    private static HttpHeaders jsonHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+}
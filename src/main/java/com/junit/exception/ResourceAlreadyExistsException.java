@@ -2,7 +2,8 @@ package com.junit.exception;
 
 public class ResourceAlreadyExistsException extends RuntimeException{
 public ResourceAlreadyExistsException(String message){
-    super(message);
+    // expected outcome mapped to 409, so skip the stack trace capture
+    super(message, null, false, false);
 }
 
 }
@@ -2,7 +2,8 @@ package com.junit.exception;
 
 public class ResourceNotFoundException extends RuntimeException{
 public ResourceNotFoundException(String message){
-    super(message);
+    // expected outcome mapped to 404, so skip the stack trace capture
+    super(message, null, false, false);
 }
 
 }
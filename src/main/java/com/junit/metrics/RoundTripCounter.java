@@ -0,0 +1,61 @@
+package com.junit.metrics;
+
+// counts the statements and transactions issued by the current thread while a request is being served.
+// Outside start()/clear() nothing is recorded, so scheduled jobs and background writers never allocate counts.
+public final class RoundTripCounter {
+
+    public static final String REQUEST_ATTRIBUTE = RoundTripCounter.class.getName() + ".counts";
+
+    private static final ThreadLocal<Counts> COUNTS = new ThreadLocal<>();
+
+    private RoundTripCounter() {
+    }
+
+    public static Counts start() {
+        Counts counts = new Counts();
+        COUNTS.set(counts);
+        return counts;
+    }
+
+    // null when the current thread is not serving a counted request
+    public static Counts current() {
+        return COUNTS.get();
+    }
+
+    public static void clear() {
+        COUNTS.remove();
+    }
+
+    static void statementExecuted() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.statements++;
+        }
+    }
+
+    static void transactionStarted() {
+        Counts counts = COUNTS.get();
+        if (counts != null) {
+            counts.transactions++;
+        }
+    }
+
+    public static final class Counts {
+
+        private int statements;
+        private int transactions;
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public int getTransactions() {
+            return transactions;
+        }
+
+        @Override
+        public String toString() {
+            return "statements=" + statements + ", transactions=" + transactions;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.junit.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Slf4j
+@Component
+public class RoundTripCounterFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RoundTripCounter.Counts counts = RoundTripCounter.start();
+        request.setAttribute(RoundTripCounter.REQUEST_ATTRIBUTE, counts);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RoundTripCounter.clear();
+            log.debug("{} {} -> {}", request.getMethod(), request.getRequestURI(), counts);
+        }
+    }
+}
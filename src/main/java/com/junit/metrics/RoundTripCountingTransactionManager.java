@@ -0,0 +1,14 @@
+package com.junit.metrics;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+// doBegin only runs for physical transactions, joined ones are not counted
+public class RoundTripCountingTransactionManager extends JpaTransactionManager {
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        super.doBegin(transaction, definition);
+        RoundTripCounter.transactionStarted();
+    }
+}
@@ -0,0 +1,16 @@
+package com.junit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate hands the SQL to the inspector once per PreparedStatement it creates, which is not once per round trip:
+// a JDBC batch adds many rows to one prepared statement and is counted once per flush of batch_size rows, and
+// SQL that bypasses the session (JdbcTemplate) is not seen at all. The pooled id generator's sequence call goes
+// through the session and is counted, once per allocation block.
+public class RoundTripStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RoundTripCounter.statementExecuted();
+        return sql;
+    }
+}
@@ -0,0 +1,55 @@
+package com.junit.metrics;
+
+import java.util.Locale;
+
+// per-request timing breakdown for the Server-Timing header; null on threads where it was not requested,
+// so the probes reduce to one ThreadLocal read when the header is off
+public final class ServerTiming {
+
+    public static final String HEADER = "Server-Timing";
+    // request header that opts a single request in
+    public static final String REQUEST_HEADER = "X-Server-Timing";
+
+    private static final ThreadLocal<ServerTiming> CURRENT = new ThreadLocal<>();
+
+    private long jdbcNanos;
+    private int statements;
+    private long serviceNanos;
+    private long serializationNanos;
+
+    private ServerTiming() {
+    }
+
+    public static ServerTiming start() {
+        ServerTiming timing = new ServerTiming();
+        CURRENT.set(timing);
+        return timing;
+    }
+
+    public static ServerTiming current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    void addJdbc(long nanos) {
+        jdbcNanos += nanos;
+        statements++;
+    }
+
+    void addService(long nanos) {
+        serviceNanos += nanos;
+    }
+
+    void addSerialization(long nanos) {
+        serializationNanos += nanos;
+    }
+
+    public String headerValue() {
+        return String.format(Locale.ROOT,
+                "db;dur=%.3f;desc=\"JDBC\", sql;desc=\"%d statements\", service;dur=%.3f, json;dur=%.3f",
+                jdbcNanos / 1e6, statements, serviceNanos / 1e6, serializationNanos / 1e6);
+    }
+}
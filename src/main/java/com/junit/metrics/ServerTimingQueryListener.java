@@ -0,0 +1,28 @@
+package com.junit.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// ExecutionInfo only reports milliseconds, so the statement is timed here with nanoTime
+public class ServerTimingQueryListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> STARTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (ServerTiming.current() != null) {
+            STARTED.get()[0] = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        ServerTiming timing = ServerTiming.current();
+        if (timing != null) {
+            timing.addJdbc(System.nanoTime() - STARTED.get()[0]);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.junit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+// one timer per intercepted method, built on first use; later calls only do a map lookup and a record,
+// so no tags, Timer.Sample or lambdas are allocated on the hot path
+public class TimedMethodInterceptor implements MethodInterceptor {
+
+    // resolved on the first call, advisors are created before the registry has been customised
+    private final Supplier<MeterRegistry> registry;
+    private final String metricName;
+    private final String layer;
+    private final ConcurrentMap<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public TimedMethodInterceptor(Supplier<MeterRegistry> registry, String metricName, String layer) {
+        this.registry = registry;
+        this.metricName = metricName;
+        this.layer = layer;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        Timer timer = timers.get(method);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(method, this::timerFor);
+        }
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timerFor(Method method) {
+        return Timer.builder(metricName)
+                .tag("layer", layer)
+                .tag("class", method.getDeclaringClass().getSimpleName())
+                .tag("method", signature(method))
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(100_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry.get());
+    }
+
+    // overloads such as the two getEmployeeById handlers get their parameter types appended
+    static String signature(Method method) {
+        long overloads = Arrays.stream(method.getDeclaringClass().getMethods())
+                .filter(candidate -> candidate.getName().equals(method.getName()))
+                .count();
+        if (overloads <= 1) {
+            return method.getName();
+        }
+        return Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(",", method.getName() + "(", ")"));
+    }
+}
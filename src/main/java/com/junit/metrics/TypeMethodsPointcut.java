@@ -0,0 +1,24 @@
+package com.junit.metrics;
+
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+// every public method of beans assignable to the given type, Object methods excluded
+public class TypeMethodsPointcut extends StaticMethodMatcherPointcut {
+
+    private final Class<?> type;
+
+    public TypeMethodsPointcut(Class<?> type) {
+        this.type = type;
+        setClassFilter(type::isAssignableFrom);
+    }
+
+    @Override
+    public boolean matches(Method method, Class<?> targetClass) {
+        return method.getDeclaringClass() != Object.class
+                && Modifier.isPublic(method.getModifiers())
+                && type.isAssignableFrom(targetClass);
+    }
+}
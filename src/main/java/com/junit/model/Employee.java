@@ -1,6 +1,8 @@
 package com.junit.model;
 
 import lombok.*;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 
 import javax.persistence.*;
 
@@ -9,12 +11,24 @@ import javax.persistence.*;
 @AllArgsConstructor
 @NoArgsConstructor
 @ToString
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "employees")
+@DynamicUpdate
+@Cacheable
+@org.hibernate.annotations.Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
+@Table(name = "employees",
+        uniqueConstraints = @UniqueConstraint(name = Employee.EMAIL_UNIQUE_CONSTRAINT, columnNames = "email"))
 public class Employee {
+    public static final String EMAIL_UNIQUE_CONSTRAINT = "uk_employees_email";
+    // bounded in application.conf
+    public static final String CACHE_REGION = "employees";
+    // keep in step with EmployeeSequenceMigration, which seeds the generator a full block above MAX(id)
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence (a table on MySQL) so ids are known before the INSERT and JDBC batching works
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     @Column(name = "first_name",nullable = false)
     private String firstName;
@@ -22,4 +36,8 @@ public class Employee {
     private String lastName;
     @Column(name = "email",nullable = false )
     private String email;
+    @Version
+    // rows written before the column existed (or by raw SQL) must not carry a null version; see EmployeeVersionBackfill
+    @Column(name = "version", nullable = false, columnDefinition = "bigint default 0 not null")
+    private Long version;
 }
@@ -0,0 +1,51 @@
+package com.junit.reactive;
+
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+// hands out ids with the same pooled semantics as Employee's employee_seq generator: each sequence value v
+// reserves (v - allocationSize, v], so blocks taken here never overlap blocks taken by Hibernate
+public class EmployeeIdAllocator {
+
+    // must match the increment of employee_seq and Employee's allocationSize
+    static final int ALLOCATION_SIZE = 50;
+
+    private final Supplier<Mono<Long>> nextSequenceValue;
+    private final int allocationSize;
+    private final AtomicReference<Block> current = new AtomicReference<>();
+
+    public EmployeeIdAllocator(Supplier<Mono<Long>> nextSequenceValue, int allocationSize) {
+        this.nextSequenceValue = nextSequenceValue;
+        this.allocationSize = allocationSize;
+    }
+
+    public Mono<Long> nextId() {
+        Block block = current.get();
+        if (block != null) {
+            long id = block.next.getAndIncrement();
+            if (id <= block.hi) {
+                return Mono.just(id);
+            }
+        }
+        // concurrent refills each fetch their own block; the loser's remaining ids are skipped, not reused
+        return Mono.defer(nextSequenceValue).map(value -> {
+            Block fetched = new Block(Math.max(1L, value - allocationSize + 1), value);
+            long id = fetched.next.getAndIncrement();
+            current.compareAndSet(block, fetched);
+            return id;
+        });
+    }
+
+    private static final class Block {
+        private final AtomicLong next;
+        private final long hi;
+
+        private Block(long lo, long hi) {
+            this.next = new AtomicLong(lo);
+            this.hi = hi;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.junit.reactive;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+// R2DBC mapping of the employees table; serialises to the same JSON as com.junit.model.Employee
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+@Builder(toBuilder = true)
+@Table("employees")
+public class ReactiveEmployee {
+    @Id
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String email;
+    // a null version marks the row as new, so saving with a pre-allocated id still inserts
+    @Version
+    private Long version;
+}
@@ -0,0 +1,93 @@
+package com.junit.reactive;
+
+import com.junit.dto.EmployeePatch;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// same routes as EmployeeController, served from Netty event loops without holding a thread per request
+@Profile("reactive")
+@RestController
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+    static final int MAX_MULTI_GET_IDS = 10000;
+    static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<ReactiveEmployee> createEmployee(@RequestBody ReactiveEmployee employee){
+        return employeeService.saveEmployee(employee);
+    }
+
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Flux<ReactiveEmployee> createEmployees(@RequestBody List<ReactiveEmployee> employees){
+        return employeeService.saveAllEmployees(employees);
+    }
+
+    // with Accept: application/x-ndjson rows are written as the client reads them, so a slow client slows
+    // the R2DBC cursor instead of buffering the table; plain JSON is collected into one array
+    @GetMapping(params = {"!limit", "!ids", "!after"}, produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<ReactiveEmployee> getAllEmployees(){
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(params = {"limit", "!ids"})
+    public Mono<ReactiveEmployeePage> getEmployeesPage(@RequestParam(value = "after", defaultValue = "0") Long afterId,
+                                                       @RequestParam("limit") int limit){
+        return employeeService.getEmployeesAfter(afterId, limit);
+    }
+
+    // a cursor without a limit still pages, it must not fall through to the unbounded stream
+    @GetMapping(params = {"after", "!limit", "!ids"})
+    public Mono<ReactiveEmployeePage> getEmployeesPage(@RequestParam("after") Long afterId){
+        return employeeService.getEmployeesAfter(afterId, DEFAULT_PAGE_SIZE);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ReactiveEmployee> exportEmployees(){
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping(params = "ids")
+    public Mono<ReactiveEmployeeLookupResult> getEmployeesByIds(@RequestParam("ids") List<Long> employeeIds){
+        if (employeeIds.size() > MAX_MULTI_GET_IDS) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_MULTI_GET_IDS + " ids per request"));
+        }
+        return employeeService.getEmployeesByIds(employeeIds);
+    }
+
+    @GetMapping("{id}")
+    public Mono<ReactiveEmployee> getEmployeeById(@PathVariable("id") Long employeeId){
+        return employeeService.getEmployeeById(employeeId);
+    }
+
+    @PutMapping("{id}")
+    public Mono<ReactiveEmployee> updateEmployee(@PathVariable("id") Long employeeId, @RequestBody ReactiveEmployee employee){
+        return employeeService.updateEmployee(employeeId, employee);
+    }
+
+    @PatchMapping("{id}")
+    public Mono<ReactiveEmployee> patchEmployee(@PathVariable("id") Long employeeId, @RequestBody EmployeePatch patch){
+        return employeeService.patchEmployee(employeeId, patch);
+    }
+
+    @DeleteMapping("{id}")
+    public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") Long employeeId){
+        return employeeService.deleteEmployee(employeeId)
+                .thenReturn(new ResponseEntity<>("Employee deleted successfully",HttpStatus.OK));
+    }
+}
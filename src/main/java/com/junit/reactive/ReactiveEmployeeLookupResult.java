@@ -0,0 +1,16 @@
+package com.junit.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReactiveEmployeeLookupResult {
+    // in the order the ids were requested
+    private List<ReactiveEmployee> employees;
+    private List<Long> missingIds;
+}
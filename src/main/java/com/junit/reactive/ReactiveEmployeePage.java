@@ -0,0 +1,16 @@
+package com.junit.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReactiveEmployeePage {
+    private List<ReactiveEmployee> content;
+    // id to pass as ?after= for the next page, null when this is the last page
+    private Long nextCursor;
+}
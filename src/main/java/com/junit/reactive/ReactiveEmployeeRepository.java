@@ -0,0 +1,20 @@
+package com.junit.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeRepository extends ReactiveCrudRepository<ReactiveEmployee, Long> {
+
+    // rows are pulled from the driver as the subscriber requests them
+    Flux<ReactiveEmployee> findAllByOrderByIdAsc();
+
+    Flux<ReactiveEmployee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Modifying
+    @Query("delete from employees where id = :id")
+    Mono<Integer> deleteEmployeeById(Long id);
+}
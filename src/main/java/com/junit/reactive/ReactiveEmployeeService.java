@@ -0,0 +1,27 @@
+package com.junit.reactive;
+
+import com.junit.dto.EmployeePatch;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface ReactiveEmployeeService {
+    Mono<ReactiveEmployee> saveEmployee(ReactiveEmployee employee);
+
+    Flux<ReactiveEmployee> saveAllEmployees(List<ReactiveEmployee> employees);
+
+    Flux<ReactiveEmployee> getAllEmployees();
+
+    Mono<ReactiveEmployeePage> getEmployeesAfter(Long afterId, int limit);
+
+    Mono<ReactiveEmployee> getEmployeeById(Long id);
+
+    Mono<ReactiveEmployeeLookupResult> getEmployeesByIds(List<Long> ids);
+
+    Mono<ReactiveEmployee> updateEmployee(Long id, ReactiveEmployee employee);
+
+    Mono<ReactiveEmployee> patchEmployee(Long id, EmployeePatch patch);
+
+    Mono<Void> deleteEmployee(Long id);
+}
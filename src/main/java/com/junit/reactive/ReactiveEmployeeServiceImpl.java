@@ -0,0 +1,155 @@
+package com.junit.reactive;
+
+import com.junit.dto.EmployeePatch;
+import com.junit.exception.ResourceAlreadyExistsException;
+import com.junit.exception.ResourceNotFoundException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+@Profile("reactive")
+@Service
+@Transactional(readOnly = true)
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveEmployeeRepository employeeRepository;
+    private final EmployeeIdAllocator idAllocator;
+
+    public ReactiveEmployeeServiceImpl(ReactiveEmployeeRepository employeeRepository, EmployeeIdAllocator idAllocator) {
+        this.employeeRepository = employeeRepository;
+        this.idAllocator = idAllocator;
+    }
+
+    // no exists query up front: the unique email index rejects duplicates in the same round trip as the insert
+    @Override
+    @Transactional
+    public Mono<ReactiveEmployee> saveEmployee(ReactiveEmployee employee) {
+        return idAllocator.nextId()
+                .flatMap(id -> employeeRepository.save(employee.toBuilder().id(id).version(null).build()))
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new ResourceAlreadyExistsException("Employee already exit with given email: "+employee.getEmail()));
+    }
+
+    @Override
+    @Transactional
+    public Flux<ReactiveEmployee> saveAllEmployees(List<ReactiveEmployee> employees) {
+        Set<String> emails = new HashSet<>();
+        for (ReactiveEmployee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                return Flux.error(new ResourceAlreadyExistsException("Employee email repeated in batch: "+employee.getEmail()));
+            }
+        }
+        return Flux.fromIterable(employees)
+                .concatMap(employee -> idAllocator.nextId().map(id -> employee.toBuilder().id(id).version(null).build()))
+                .collectList()
+                .flatMapMany(employeeRepository::saveAll)
+                .onErrorMap(DataIntegrityViolationException.class,
+                        e -> new ResourceAlreadyExistsException("Employee already exit with one of the given emails"));
+    }
+
+    @Override
+    public Flux<ReactiveEmployee> getAllEmployees() {
+        return employeeRepository.findAllByOrderByIdAsc();
+    }
+
+    @Override
+    public Mono<ReactiveEmployeePage> getEmployeesAfter(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long after = afterId == null ? 0L : afterId;
+        // fetch one extra row to learn whether another page exists without a count query
+        return employeeRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, pageSize + 1))
+                .collectList()
+                .map(rows -> {
+                    if (rows.size() <= pageSize) {
+                        return new ReactiveEmployeePage(rows, null);
+                    }
+                    List<ReactiveEmployee> content = rows.subList(0, pageSize);
+                    return new ReactiveEmployeePage(content, content.get(pageSize - 1).getId());
+                });
+    }
+
+    @Override
+    public Mono<ReactiveEmployee> getEmployeeById(Long id) {
+        return employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Employee not found with given id: "+id)));
+    }
+
+    @Override
+    public Mono<ReactiveEmployeeLookupResult> getEmployeesByIds(List<Long> ids) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+        return employeeRepository.findAllById(uniqueIds)
+                .collectMap(ReactiveEmployee::getId, Function.identity())
+                .map(found -> lookupResult(uniqueIds, found));
+    }
+
+    @Override
+    @Transactional
+    public Mono<ReactiveEmployee> updateEmployee(Long id, ReactiveEmployee employee) {
+        return getEmployeeById(id)
+                .flatMap(savedEmployee -> {
+                    savedEmployee.setFirstName(employee.getFirstName());
+                    savedEmployee.setLastName(employee.getLastName());
+                    savedEmployee.setEmail(employee.getEmail());
+                    return employeeRepository.save(savedEmployee);
+                });
+    }
+
+    // a stale version fails the versioned UPDATE with OptimisticLockingFailureException, mapped to 409
+    @Override
+    @Transactional
+    public Mono<ReactiveEmployee> patchEmployee(Long id, EmployeePatch patch) {
+        return getEmployeeById(id)
+                .flatMap(employee -> {
+                    if (patch.getVersion() != null) {
+                        employee.setVersion(patch.getVersion());
+                    }
+                    if (patch.getFirstName() != null) {
+                        employee.setFirstName(patch.getFirstName());
+                    }
+                    if (patch.getLastName() != null) {
+                        employee.setLastName(patch.getLastName());
+                    }
+                    if (patch.getEmail() != null) {
+                        employee.setEmail(patch.getEmail());
+                    }
+                    return employeeRepository.save(employee);
+                });
+    }
+
+    @Override
+    @Transactional
+    public Mono<Void> deleteEmployee(Long id) {
+        return employeeRepository.deleteEmployeeById(id)
+                .flatMap(deleted -> deleted == 0
+                        ? Mono.error(new ResourceNotFoundException("Employee not found with given id: "+id))
+                        : Mono.empty());
+    }
+
+    private static ReactiveEmployeeLookupResult lookupResult(Set<Long> ids, Map<Long, ReactiveEmployee> found) {
+        List<ReactiveEmployee> employees = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ReactiveEmployee employee = found.get(id);
+            if (employee == null) {
+                missingIds.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+        return new ReactiveEmployeeLookupResult(employees, missingIds);
+    }
+}
@@ -0,0 +1,18 @@
+package com.junit.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Profile("reactive")
+@Configuration
+public class ReactivePersistenceConfig {
+
+    @Bean
+    public EmployeeIdAllocator employeeIdAllocator(DatabaseClient databaseClient) {
+        return new EmployeeIdAllocator(() -> databaseClient.sql("select next value for employee_seq")
+                .map(row -> row.get(0, Long.class))
+                .one(), EmployeeIdAllocator.ALLOCATION_SIZE);
+    }
+}
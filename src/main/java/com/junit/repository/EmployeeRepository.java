@@ -1,25 +1,72 @@
 package com.junit.repository;
 
+import com.junit.dto.EmployeeVersion;
 import com.junit.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
-public interface EmployeeRepository extends JpaRepository<Employee,Long> {
+public interface EmployeeRepository extends JpaRepository<Employee,Long>, EmployeeRepositoryCustom {
+  // finder results live in the query cache; any write to employees (including the native upsert) invalidates them.
+  // read-only finders run in their own read-only transaction so they are routed to a replica when one is configured
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   Optional<Employee> findByEmail(String email);
 
+  // stays on the primary: the duplicate check on create must see writes a replica may not have applied yet
+  boolean existsByEmail(String email);
+
+  @Query("select e.email from Employee e where e.email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  @Query("select e.version from Employee e where e.id = :id")
+  Optional<Long> findVersionById(@Param("id") Long id);
+
+  @Query("select new com.junit.dto.EmployeeVersion(e.id, e.version) from Employee e order by e.id")
+  List<EmployeeVersion> findAllVersions();
+
+  List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+  @Query("select e.email from Employee e")
+  Stream<String> streamAllEmails();
+
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+  Employee findFirstByFirstNameAndLastName(String firstName, String lastName);
+
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query("select e from Employee e where e.firstName = ?1 and e.lastName = ?2")
   Employee findByJPQL(String firstName,String lastName);
 
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query("select e from Employee e where e.firstName =:firstName and e.lastName =:lastName")
   Employee findByJPQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 
+  // mapped to Employee, so Hibernate registers the employees table as the query space and invalidates on writes
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query(value = "select * from employees e where e.first_name=?1 and e.last_name=?2",nativeQuery = true)
   Employee findByNativeSQL(String firstName, String lastName);
 
+  @Transactional(readOnly = true)
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query(value = "select * from employees e where e.first_name =:firstName and e.last_name =:lastName",nativeQuery = true)
   Employee findByNativeSQLNamedParams(@Param("firstName") String firstName, @Param("lastName") String lastName);
 }
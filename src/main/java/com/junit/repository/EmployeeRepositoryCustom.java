@@ -0,0 +1,23 @@
+package com.junit.repository;
+
+import com.junit.dto.EmployeeField;
+import com.junit.model.Employee;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+public interface EmployeeRepositoryCustom {
+    Employee upsertByEmail(Employee employee);
+
+    // returns the number of rows removed
+    int deleteEmployeeById(Long id);
+
+    // must be consumed inside a transaction and closed; rows are fetched from the driver in chunks
+    // and never enter the second-level cache
+    Stream<Employee> streamAll();
+
+    List<Map<String, Object>> findAllFields(List<EmployeeField> fields);
+
+    List<Map<String, Object>> findFieldsByIdGreaterThan(List<EmployeeField> fields, Long afterId, int limit);
+}
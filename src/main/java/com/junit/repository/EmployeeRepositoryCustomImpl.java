@@ -0,0 +1,166 @@
+package com.junit.repository;
+
+import com.junit.dto.EmployeeField;
+import com.junit.model.Employee;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.CacheImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    // one statement for both cases; the unique index on email decides whether it inserts or updates.
+    // The row alias replaces VALUES(col), which MySQL 8.0.20 deprecated; H2 has no equivalent, so this is MySQL-only.
+    private static final String UPSERT_BY_EMAIL = "insert into employees (id, first_name, last_name, email, version) "
+            + "values (?1, ?2, ?3, ?4, 0) as incoming "
+            + "on duplicate key update first_name = incoming.first_name, last_name = incoming.last_name, "
+            + "version = employees.version + 1";
+
+    // a space no entity maps to; with none declared Hibernate would evict every second-level cache region,
+    // and declaring the employees table would still drop the whole employees region
+    private static final String UPSERT_QUERY_SPACE = "employees_upsert";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // the insert branch needs an id up front, so the update branch discards one. The pooled generator
+    // hands it out of its in-memory block, so the cost is a gap in the ids, not a sequence round trip.
+    // MySQL cannot return the row from an upsert and does not say which branch ran, so reading it back
+    // by email is deliberate: it is the only way to get the id and version on the update path
+    @Override
+    @Transactional
+    public Employee upsertByEmail(Employee employee) {
+        EventSource session = entityManager.unwrap(EventSource.class);
+        entityManager.createNativeQuery(UPSERT_BY_EMAIL)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(UPSERT_QUERY_SPACE)
+                .setParameter(1, nextId())
+                .setParameter(2, employee.getFirstName())
+                .setParameter(3, employee.getLastName())
+                .setParameter(4, employee.getEmail())
+                .executeUpdate();
+        Employee saved = entityManager.createQuery("select e from Employee e where e.email = :email", Employee.class)
+                .setParameter("email", employee.getEmail())
+                .getSingleResult();
+        evictAfterCompletion(session, saved.getId());
+        return saved;
+    }
+
+    // only this row changed: its entry is dropped now and again once the transaction ends, so an old copy
+    // loaded by a concurrent reader meanwhile does not outlive the commit. Cached finder results over the
+    // table are invalidated at the same point, as they would be for an entity update
+    private static void evictAfterCompletion(EventSource session, Long id) {
+        CacheImplementor cache = session.getFactory().getCache();
+        Serializable[] spaces = session.getFactory().getMetamodel().entityPersister(Employee.class).getQuerySpaces();
+        cache.evictEntityData(Employee.class, id);
+        session.getActionQueue().registerProcess((success, completedSession) -> {
+            cache.evictEntityData(Employee.class, id);
+            if (session.getFactory().getSessionFactoryOptions().isQueryCacheEnabled()) {
+                cache.getTimestampsCache().invalidate(spaces, completedSession);
+            }
+        });
+    }
+
+    // a bulk JPQL or native DELETE makes Hibernate drop the whole employees cache region; removing the entity
+    // evicts just this id. The lookup is usually a second-level cache hit, and remove() would load it anyway
+    // for the version check, so find() costs nothing extra and reports a missing row without an exception
+    @Override
+    @Transactional
+    public int deleteEmployeeById(Long id) {
+        Employee employee = entityManager.find(Employee.class, id);
+        if (employee == null) {
+            return 0;
+        }
+        entityManager.remove(employee);
+        return 1;
+    }
+
+    // a full scan would push the hot set out of the bounded region. A cache-mode query hint is not enough:
+    // Hibernate restores the session's mode once the cursor is open, before any row is hydrated, so the
+    // session itself ignores the cache until the stream is closed
+    @Override
+    public Stream<Employee> streamAll() {
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previous = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        try {
+            return entityManager.createQuery("select e from Employee e order by e.id", Employee.class)
+                    .setHint(HINT_FETCH_SIZE, 1000)
+                    .setHint(HINT_READONLY, true)
+                    .getResultStream()
+                    .onClose(() -> session.setCacheMode(previous));
+        } catch (RuntimeException e) {
+            session.setCacheMode(previous);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> findAllFields(List<EmployeeField> fields) {
+        return toRows(fieldsQuery(fields, null).getResultList(), fields);
+    }
+
+    @Override
+    public List<Map<String, Object>> findFieldsByIdGreaterThan(List<EmployeeField> fields, Long afterId, int limit) {
+        return toRows(fieldsQuery(fields, afterId).setMaxResults(limit).getResultList(), fields);
+    }
+
+    // a tuple query selects only the named columns and returns scalars, so nothing enters the persistence context
+    private TypedQuery<Tuple> fieldsQuery(List<EmployeeField> fields, Long afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Employee> employee = query.from(Employee.class);
+        List<Selection<?>> selections = new ArrayList<>(fields.size());
+        for (EmployeeField field : fields) {
+            selections.add(employee.get(field.attribute()).alias(field.attribute()));
+        }
+        query.multiselect(selections);
+        if (afterId != null) {
+            query.where(cb.greaterThan(employee.get("id"), afterId));
+        }
+        query.orderBy(cb.asc(employee.get("id")));
+        return entityManager.createQuery(query);
+    }
+
+    private static List<Map<String, Object>> toRows(List<Tuple> tuples, List<EmployeeField> fields) {
+        List<Map<String, Object>> rows = new ArrayList<>(tuples.size());
+        for (Tuple tuple : tuples) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (EmployeeField field : fields) {
+                row.put(field.attribute(), tuple.get(field.attribute()));
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // ids come from the entity's pooled generator so native inserts never collide with Hibernate's
+    private Serializable nextId() {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        return session.getFactory().getMetamodel()
+                .entityPersister(Employee.class)
+                .getIdentifierGenerator()
+                .generate(session, null);
+    }
+}
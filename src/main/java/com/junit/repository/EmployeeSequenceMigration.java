@@ -0,0 +1,62 @@
+package com.junit.repository;
+
+import com.junit.model.Employee;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Moves the pooled id generator past ids that already exist. Rows inserted while ids were AUTO_INCREMENT
+ * are unknown to the employee_seq table that ddl-auto creates starting at 1, so without this the first
+ * pooled ids collide with them on the primary key. On MySQL the generator is a table holding next_val;
+ * databases with real sequences (H2 in the tests) have no such table and are left alone.
+ * Idempotent and safe to run from several instances at once.
+ */
+@Slf4j
+@Component
+// runs after Hibernate's schema update has created the generator table
+@DependsOn("entityManagerFactory")
+public class EmployeeSequenceMigration implements InitializingBean {
+
+    static final String SEQUENCE_TABLE = "employee_seq";
+    // the pooled optimizer hands out (next_val - allocationSize, next_val], so next_val must clear MAX(id) by a full block
+    static final String SEED_SQL = "update " + SEQUENCE_TABLE + " set next_val = greatest(next_val,"
+            + " (select coalesce(max(id), 0) + " + Employee.ID_ALLOCATION_SIZE + " from employees))";
+
+    private final DataSource dataSource;
+
+    public EmployeeSequenceMigration(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        if (!sequenceTableExists()) {
+            return;
+        }
+        int updated = new JdbcTemplate(dataSource).update(SEED_SQL);
+        log.info("Seeded {} above the existing employee ids ({} row(s) checked)", SEQUENCE_TABLE, updated);
+    }
+
+    private boolean sequenceTableExists() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : new String[]{SEQUENCE_TABLE, SEQUENCE_TABLE.toUpperCase()}) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.junit.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Gives every employee row a version. The optimistic lock column was first added by a schema update that
+ * left it nullable, and ddl-auto=update never tightens an existing column. Spring Data treats an entity
+ * with a null version as new, so saving such a row tries to insert it again, and its ETag reads "id-null".
+ * Existing nulls become 0, which is what a fresh insert starts at. Idempotent and safe to run from
+ * several instances at once.
+ */
+@Slf4j
+@Component
+// runs after Hibernate's schema update has added the column
+@DependsOn("entityManagerFactory")
+public class EmployeeVersionBackfill implements InitializingBean {
+
+    static final String BACKFILL_SQL = "update employees set version = 0 where version is null";
+
+    private final DataSource dataSource;
+
+    public EmployeeVersionBackfill(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        int updated = new JdbcTemplate(dataSource).update(BACKFILL_SQL);
+        if (updated > 0) {
+            log.info("Backfilled the version of {} employee row(s)", updated);
+        }
+    }
+}
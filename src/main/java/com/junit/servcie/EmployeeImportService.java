@@ -0,0 +1,10 @@
+package com.junit.servcie;
+
+import com.junit.dto.ImportResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface EmployeeImportService {
+    ImportResult importCsv(InputStream csv) throws IOException;
+}
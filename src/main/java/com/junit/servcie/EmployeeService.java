@@ -1,18 +1,50 @@
 package com.junit.servcie;
 
+import com.junit.dto.EmployeeField;
+import com.junit.dto.EmployeeFieldsPage;
+import com.junit.dto.EmployeeLookupResult;
+import com.junit.dto.EmployeePage;
+import com.junit.dto.EmployeePatch;
+import com.junit.dto.EmployeeVersion;
 import com.junit.model.Employee;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
     Employee saveEmployee(Employee employee);
 
+    List<Employee> saveAllEmployees(List<Employee> employees);
+
     List<Employee> getAllEmployees();
 
+    List<Map<String, Object>> getAllEmployees(List<EmployeeField> fields);
+
+    EmployeePage getEmployeesAfter(Long afterId, int limit);
+
+    EmployeeFieldsPage getEmployeesAfter(Long afterId, int limit, List<EmployeeField> fields);
+
+    void exportEmployees(Consumer<Employee> consumer);
+
     Optional<Employee> getEmployeeById(Long id);
 
+    Optional<Map<String, Object>> getEmployeeById(Long id, List<EmployeeField> fields);
+
+    EmployeeLookupResult getEmployeesByIds(List<Long> ids);
+
+    Optional<Long> getEmployeeVersion(Long id);
+
+    List<EmployeeVersion> getEmployeeVersions();
+
     Employee updateEmployee(Employee updatedEmployee);
 
+    Employee updateEmployee(Long id, Employee employee);
+
+    Employee patchEmployee(Long id, EmployeePatch patch);
+
+    Employee upsertEmployee(String email, Employee employee);
+
     void deleteEmployee(Long id);
 }
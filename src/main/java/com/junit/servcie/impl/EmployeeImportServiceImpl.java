@@ -0,0 +1,317 @@
+package com.junit.servcie.impl;
+
+import com.junit.cache.EmailBloomFilter;
+import com.junit.csv.CsvFormatException;
+import com.junit.csv.CsvReader;
+import com.junit.dto.ImportResult;
+import com.junit.dto.ImportRowError;
+import com.junit.exception.ResourceAlreadyExistsException;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.EmployeeImportService;
+import com.junit.servcie.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * CSV import in two stages: the request thread parses and validates rows into chunks, a writer thread
+ * inserts each chunk in its own transaction. The queue between them holds a few chunks, so memory stays
+ * bounded by the chunk size rather than the file size, and parsing overlaps with the inserts. Chunks
+ * commit independently; a failed import keeps the chunks written before the failure.
+ */
+@Slf4j
+@Service
+public class EmployeeImportServiceImpl implements EmployeeImportService {
+
+    // stays at or below EMAIL_CHECK_CHUNK_SIZE so each chunk needs a single existing-email query
+    static final int CHUNK_SIZE = 1000;
+    static final int QUEUE_CHUNKS = 4;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_FIELD_LENGTH = 255;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    // end of input marker, compared by identity
+    private static final List<ImportRow> END = new ArrayList<>();
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+    private EntityManager entityManager;
+    private EmailBloomFilter emailBloomFilter;
+    private TransactionTemplate transaction;
+
+    public EmployeeImportServiceImpl(EmployeeRepository employeeRepository, EmployeeService employeeService,
+                                     EntityManager entityManager, EmailBloomFilter emailBloomFilter,
+                                     PlatformTransactionManager transactionManager) {
+        this.employeeRepository=employeeRepository;
+        this.employeeService=employeeService;
+        this.entityManager=entityManager;
+        this.emailBloomFilter=emailBloomFilter;
+        this.transaction=new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public ImportResult importCsv(InputStream csv) throws IOException {
+        ImportErrors errors = new ImportErrors();
+        BlockingQueue<List<ImportRow>> chunks = new ArrayBlockingQueue<>(QUEUE_CHUNKS);
+        FutureTask<Long> writer = new FutureTask<>(() -> writeChunks(chunks, errors));
+        Thread writerThread = new Thread(writer, "employee-import-writer");
+        writerThread.setDaemon(true);
+
+        long rowsRead = 0;
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = columns(reader.next());
+            writerThread.start();
+            try {
+                List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+                List<String> record;
+                while ((record = nextRecord(reader, errors)) != null) {
+                    if (record.isEmpty()) {
+                        continue;
+                    }
+                    rowsRead++;
+                    ImportRow row = validate(record, columns, reader.recordLine(), errors);
+                    if (row == null) {
+                        continue;
+                    }
+                    chunk.add(row);
+                    if (chunk.size() == CHUNK_SIZE) {
+                        if (!hand(chunks, chunk, writer)) {
+                            break;
+                        }
+                        chunk = new ArrayList<>(CHUNK_SIZE);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    hand(chunks, chunk, writer);
+                }
+            } finally {
+                // also on a read failure, so the writer finishes the chunks it has and stops
+                hand(chunks, END, writer);
+            }
+        }
+        long imported = await(writer);
+        return new ImportResult(rowsRead, imported, errors.count(), errors.reported());
+    }
+
+    private long writeChunks(BlockingQueue<List<ImportRow>> chunks, ImportErrors errors) throws InterruptedException {
+        long imported = 0;
+        while (true) {
+            List<ImportRow> chunk = chunks.take();
+            if (chunk == END) {
+                return imported;
+            }
+            imported += writeChunk(chunk, errors);
+        }
+    }
+
+    private int writeChunk(List<ImportRow> chunk, ImportErrors errors) {
+        Set<String> seen = new HashSet<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (seen.add(EmailBloomFilter.normalize(row.employee.getEmail()))) {
+                candidates.add(row);
+            } else {
+                errors.add(row.line, row.employee.getEmail(), "Employee email repeated in import: "+row.employee.getEmail());
+            }
+        }
+        // rejections are only reported once the transaction that found them committed
+        List<ImportRowError> rejected = new ArrayList<>();
+        try {
+            List<ImportRow> inserted = transaction.execute(status -> insertNew(candidates, rejected));
+            rejected.forEach(errors::add);
+            for (ImportRow row : inserted) {
+                emailBloomFilter.put(row.employee.getEmail());
+            }
+            return inserted.size();
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent create took one of the emails after the check; isolate it row by row
+            int inserted = 0;
+            for (ImportRow row : candidates) {
+                try {
+                    employeeService.saveEmployee(row.employee.toBuilder().id(null).version(null).build());
+                    inserted++;
+                } catch (ResourceAlreadyExistsException duplicate) {
+                    errors.add(row.line, row.employee.getEmail(), duplicate.getMessage());
+                }
+            }
+            return inserted;
+        }
+    }
+
+    private List<ImportRow> insertNew(List<ImportRow> candidates, List<ImportRowError> rejected) {
+        List<String> emails = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            emails.add(row.employee.getEmail());
+        }
+        Set<String> existing = new HashSet<>();
+        for (String email : employeeRepository.findExistingEmails(emails)) {
+            existing.add(EmailBloomFilter.normalize(email));
+        }
+        List<ImportRow> inserted = new ArrayList<>(candidates.size());
+        for (ImportRow row : candidates) {
+            if (existing.contains(EmailBloomFilter.normalize(row.employee.getEmail()))) {
+                rejected.add(new ImportRowError(row.line, row.employee.getEmail(),
+                        "Employee already exit with given email: "+row.employee.getEmail()));
+                continue;
+            }
+            employeeRepository.save(row.employee);
+            inserted.add(row);
+            if (inserted.size() % EmployeeServiceImpl.INSERT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        return inserted;
+    }
+
+    // an unterminated quote can only be detected at the end of the input, it ends the import like EOF
+    private static List<String> nextRecord(CsvReader reader, ImportErrors errors) throws IOException {
+        try {
+            return reader.next();
+        } catch (CsvFormatException e) {
+            errors.add(e.getLine(), null, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Integer> columns(List<String> header) {
+        if (header == null) {
+            throw new CsvFormatException(1, "Empty upload, expected a header with firstName,lastName,email");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : List.of("firstname", "lastname", "email")) {
+            if (!columns.containsKey(required)) {
+                throw new CsvFormatException(1, "Header is missing the " + required + " column");
+            }
+        }
+        return columns;
+    }
+
+    private static ImportRow validate(List<String> record, Map<String, Integer> columns, long line, ImportErrors errors) {
+        String firstName = field(record, columns.get("firstname"));
+        String lastName = field(record, columns.get("lastname"));
+        String email = field(record, columns.get("email"));
+        String problem = null;
+        if (firstName == null || lastName == null || email == null) {
+            problem = "Row has " + record.size() + " columns, expected at least " + (maxIndex(columns) + 1);
+        } else if (firstName.isEmpty() || lastName.isEmpty() || email.isEmpty()) {
+            problem = "firstName, lastName and email are required";
+        } else if (firstName.length() > MAX_FIELD_LENGTH || lastName.length() > MAX_FIELD_LENGTH
+                || email.length() > MAX_FIELD_LENGTH) {
+            problem = "Fields are limited to " + MAX_FIELD_LENGTH + " characters";
+        } else if (!EMAIL.matcher(email).matches()) {
+            problem = "Invalid email: " + email;
+        }
+        if (problem != null) {
+            errors.add(line, email, problem);
+            return null;
+        }
+        return new ImportRow(line, Employee.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .build());
+    }
+
+    private static String field(List<String> record, int index) {
+        return index < record.size() ? record.get(index).trim() : null;
+    }
+
+    private static int maxIndex(Map<String, Integer> columns) {
+        return Math.max(columns.get("firstname"), Math.max(columns.get("lastname"), columns.get("email")));
+    }
+
+    // false once the writer has stopped, parsing further rows would be wasted
+    private static boolean hand(BlockingQueue<List<ImportRow>> chunks, List<ImportRow> chunk, FutureTask<Long> writer) {
+        try {
+            while (!chunks.offer(chunk, 100, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            writer.cancel(true);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static long await(FutureTask<Long> writer) {
+        try {
+            return writer.get();
+        } catch (InterruptedException e) {
+            writer.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the import writer", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Import writer failed", e.getCause());
+        }
+    }
+
+    private static final class ImportRow {
+        private final long line;
+        private final Employee employee;
+
+        private ImportRow(long line, Employee employee) {
+            this.line = line;
+            this.employee = employee;
+        }
+    }
+
+    // written by both threads
+    private static final class ImportErrors {
+        private final List<ImportRowError> reported = new ArrayList<>();
+        private long count;
+
+        private synchronized void add(long line, String email, String message) {
+            add(new ImportRowError(line, email, message));
+        }
+
+        private synchronized void add(ImportRowError error) {
+            count++;
+            if (reported.size() < MAX_REPORTED_ERRORS) {
+                reported.add(error);
+            }
+        }
+
+        private synchronized long count() {
+            return count;
+        }
+
+        private synchronized List<ImportRowError> reported() {
+            List<ImportRowError> sorted = new ArrayList<>(reported);
+            sorted.sort((a, b) -> Long.compare(a.getLine(), b.getLine()));
+            return sorted;
+        }
+    }
+}
@@ -1,55 +1,331 @@
 package com.junit.servcie.impl;
 
+import com.junit.cache.EmailBloomFilter;
+import com.junit.cache.EmployeeCache;
+import com.junit.cache.SingleFlight;
+import com.junit.concurrent.StripedLock;
+import com.junit.datasource.HedgedEmployeeReader;
+import com.junit.dto.EmployeeField;
+import com.junit.dto.EmployeeFieldsPage;
+import com.junit.dto.EmployeeLookupResult;
+import com.junit.dto.EmployeePage;
+import com.junit.dto.EmployeePatch;
+import com.junit.dto.EmployeeVersion;
+import com.junit.exception.ConstraintViolations;
 import com.junit.exception.ResourceAlreadyExistsException;
 import com.junit.exception.ResourceNotFoundException;
 import com.junit.model.Employee;
 import com.junit.repository.EmployeeRepository;
 import com.junit.servcie.EmployeeService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.persistence.EntityManager;
 import javax.swing.text.html.Option;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+// reads run in read-only transactions: Spring switches Hibernate to FlushMode.MANUAL and loads
+// entities read-only, so no dirty-checking snapshots are kept for them
 @Service
+@Transactional(readOnly = true)
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int MAX_PAGE_SIZE = 1000;
+    // keep in step with spring.jpa.properties.hibernate.jdbc.batch_size
+    static final int INSERT_BATCH_SIZE = 50;
+    static final int EMAIL_CHECK_CHUNK_SIZE = 1000;
+    // a power of two, so full chunks and padded tails share the statements in_clause_parameter_padding produces
+    static final int MULTI_GET_CHUNK_SIZE = 512;
+
     private EmployeeRepository employeeRepository;
+    private EntityManager entityManager;
+    private EmployeeCache employeeCache;
+    private EmailBloomFilter emailBloomFilter;
+    private StripedLock emailLocks;
+    // null unless hedged replica reads are enabled
+    private HedgedEmployeeReader hedgedEmployeeReader;
+    // concurrent lookups of a hot id share one database round trip; this is the only coalesced lookup
+    private final SingleFlight<Long, Optional<Employee>> findByIdFlight = new SingleFlight<>();
 
-    public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+    public EmployeeServiceImpl(EmployeeRepository employeeRepository, EntityManager entityManager,
+                               EmployeeCache employeeCache, EmailBloomFilter emailBloomFilter,
+                               StripedLock emailLocks, ObjectProvider<HedgedEmployeeReader> hedgedEmployeeReader) {
         this.employeeRepository=employeeRepository;
+        this.entityManager=entityManager;
+        this.employeeCache=employeeCache;
+        this.emailBloomFilter=emailBloomFilter;
+        this.emailLocks=emailLocks;
+        this.hedgedEmployeeReader=hedgedEmployeeReader.getIfAvailable();
     }
 
+    // no surrounding transaction: the insert has to commit before the email lock is released
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Employee saveEmployee(Employee employee) {
-        Optional<Employee> savedEmployee = employeeRepository.findByEmail(employee.getEmail());
-        if(savedEmployee.isPresent()){
-            throw new ResourceAlreadyExistsException("Employee already exit with given email: "+employee.getEmail());
+        // held across the check and the committed insert, so same-email creates in this JVM queue up
+        // instead of racing; the unique index still covers other instances
+        Lock lock = emailLocks.lockFor(EmailBloomFilter.normalize(employee.getEmail()));
+        lock.lock();
+        try {
+            if(emailExists(employee.getEmail())){
+                throw new ResourceAlreadyExistsException("Employee already exit with given email: "+employee.getEmail());
+            }
+            Employee savedEmployee = employeeRepository.save(employee);
+            emailBloomFilter.put(savedEmployee.getEmail());
+            return savedEmployee;
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isDuplicateEmail(e)) {
+                throw new ResourceAlreadyExistsException("Employee already exit with given email: "+employee.getEmail());
+            }
+            throw e;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // a definite miss in the filter skips the query, a possible hit is confirmed with an exists query
+    private boolean emailExists(String email) {
+        if (!emailBloomFilter.mightContain(email)) {
+            return false;
+        }
+        // not coalesced: the only caller holds the email's striped lock, so two lookups of one email never overlap
+        boolean exists = employeeRepository.existsByEmail(email);
+        if (!exists) {
+            emailBloomFilter.recordFalsePositive();
         }
-        return employeeRepository.save(employee);
+        return exists;
+    }
+
+    @Override
+    @Transactional
+    public List<Employee> saveAllEmployees(List<Employee> employees) {
+        Set<String> emails = new HashSet<>();
+        for (Employee employee : employees) {
+            if (!emails.add(employee.getEmail())) {
+                throw new ResourceAlreadyExistsException("Employee email repeated in batch: "+employee.getEmail());
+            }
+        }
+        List<String> existingEmails = findExistingEmails(new ArrayList<>(emails));
+        if (!existingEmails.isEmpty()) {
+            throw new ResourceAlreadyExistsException("Employee already exit with given email: "+existingEmails.get(0));
+        }
+        for (int i = 0; i < employees.size(); i++) {
+            employeeRepository.save(employees.get(i));
+            emailBloomFilter.put(employees.get(i).getEmail());
+            if ((i + 1) % INSERT_BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return employees;
+    }
+
+    private List<String> findExistingEmails(List<String> emails) {
+        List<String> existing = new ArrayList<>();
+        for (int from = 0; from < emails.size(); from += EMAIL_CHECK_CHUNK_SIZE) {
+            List<String> chunk = emails.subList(from, Math.min(from + EMAIL_CHECK_CHUNK_SIZE, emails.size()));
+            existing.addAll(employeeRepository.findExistingEmails(chunk));
+        }
+        return existing;
     }
 
     @Override
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        // id order keeps the list ETag stable and equal to the one derived from getEmployeeVersions
+        return employeeRepository.findAll(Sort.by("id"));
+    }
+
+    @Override
+    public List<Map<String, Object>> getAllEmployees(List<EmployeeField> fields) {
+        return employeeRepository.findAllFields(fields);
     }
 
     @Override
+    public EmployeePage getEmployeesAfter(Long afterId, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long after = afterId == null ? 0L : afterId;
+        // fetch one extra row to learn whether another page exists without a count query
+        List<Employee> rows = employeeRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new EmployeePage(rows, null);
+        }
+        List<Employee> content = rows.subList(0, pageSize);
+        return new EmployeePage(content, content.get(pageSize - 1).getId());
+    }
+
+    @Override
+    public EmployeeFieldsPage getEmployeesAfter(Long afterId, int limit, List<EmployeeField> fields) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long after = afterId == null ? 0L : afterId;
+        List<EmployeeField> selected = fields;
+        if (!fields.contains(EmployeeField.ID)) {
+            selected = new ArrayList<>(fields.size() + 1);
+            selected.add(EmployeeField.ID);
+            selected.addAll(fields);
+        }
+        List<Map<String, Object>> rows = employeeRepository.findFieldsByIdGreaterThan(selected, after, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new EmployeeFieldsPage(rows, null);
+        }
+        List<Map<String, Object>> content = rows.subList(0, pageSize);
+        return new EmployeeFieldsPage(content, (Long) content.get(pageSize - 1).get(EmployeeField.ID.attribute()));
+    }
+
+    @Override
+    public void exportEmployees(Consumer<Employee> consumer) {
+        try (Stream<Employee> employees = employeeRepository.streamAll()) {
+            employees.forEach(employee -> {
+                consumer.accept(employee);
+                // keep the persistence context empty so memory stays flat over the whole table
+                entityManager.detach(employee);
+            });
+        }
+    }
+
+    // joins a caller's transaction but never starts one, so cache hits do not borrow a connection
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Optional<Employee> getEmployeeById(Long id) {
-        Optional<Employee> savedEmployee = employeeRepository.findById(id);
+        // followers wait on the leader's future instead of queueing on the cache's per-key lock
+        Optional<Employee> savedEmployee = findByIdFlight.execute(id,
+                () -> employeeCache.get(id, this::loadEmployee));
         if(savedEmployee.isEmpty()){
             throw new ResourceNotFoundException("Employee not found with given id: "+id);
         }
-        return savedEmployee;
+        // the leader's instance is shared by every coalesced caller, hand each one its own copy
+        return savedEmployee.map(employee -> employee.toBuilder().build());
+    }
+
+    // hedged reads bypass Hibernate, so they are only used when there is no transaction to take part in
+    private Optional<Employee> loadEmployee(Long id) {
+        if (hedgedEmployeeReader != null && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return hedgedEmployeeReader.findById(id);
+        }
+        return employeeRepository.findById(id);
+    }
+
+    // a single row is served from the cache, so the projection is applied in memory instead of in SQL
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<Map<String, Object>> getEmployeeById(Long id, List<EmployeeField> fields) {
+        return getEmployeeById(id).map(employee -> EmployeeField.project(employee, fields));
+    }
+
+    @Override
+    public EmployeeLookupResult getEmployeesByIds(List<Long> ids) {
+        List<Long> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        distinctIds.removeIf(Objects::isNull);
+        Map<Long, Employee> found = new HashMap<>();
+        for (int from = 0; from < distinctIds.size(); from += MULTI_GET_CHUNK_SIZE) {
+            List<Long> chunk = distinctIds.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, distinctIds.size()));
+            for (Employee employee : employeeRepository.findAllById(chunk)) {
+                found.put(employee.getId(), employee);
+            }
+        }
+        List<Employee> employees = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Employee employee = found.get(id);
+            if (employee == null) {
+                missingIds.add(id);
+            } else {
+                employees.add(employee);
+            }
+        }
+        return new EmployeeLookupResult(employees, missingIds);
     }
 
     @Override
+    public Optional<Long> getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id);
+    }
+
+    @Override
+    public List<EmployeeVersion> getEmployeeVersions() {
+        return employeeRepository.findAllVersions();
+    }
+
+    @Override
+    @Transactional
     public Employee updateEmployee(Employee updatedEmployee) {
-        return employeeRepository.save(updatedEmployee);
+        Employee savedEmployee = employeeRepository.save(updatedEmployee);
+        emailBloomFilter.put(savedEmployee.getEmail());
+        employeeCache.putAfterCommit(savedEmployee);
+        return savedEmployee;
     }
 
     @Override
+    @Transactional
+    public Employee updateEmployee(Long id, Employee employee) {
+        // load and write in one transaction; the managed entity is flushed without a merge
+        Employee savedEmployee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with given id: "+id));
+        savedEmployee.setFirstName(employee.getFirstName());
+        savedEmployee.setLastName(employee.getLastName());
+        savedEmployee.setEmail(employee.getEmail());
+        emailBloomFilter.put(employee.getEmail());
+        employeeCache.putAfterCommit(savedEmployee);
+        return savedEmployee;
+    }
+
+    @Override
+    @Transactional
+    public Employee patchEmployee(Long id, EmployeePatch patch) {
+        Employee employee = employeeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee not found with given id: "+id));
+        if (patch.getVersion() != null && !patch.getVersion().equals(employee.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Employee.class, id);
+        }
+        // the entity stays managed, so dirty checking plus @DynamicUpdate writes only the changed columns
+        if (patch.getFirstName() != null) {
+            employee.setFirstName(patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            employee.setLastName(patch.getLastName());
+        }
+        if (patch.getEmail() != null) {
+            employee.setEmail(patch.getEmail());
+            emailBloomFilter.put(patch.getEmail());
+        }
+        employeeCache.putAfterCommit(employee);
+        return employee;
+    }
+
+    @Override
+    @Transactional
+    public Employee upsertEmployee(String email, Employee employee) {
+        employee.setEmail(email);
+        Employee savedEmployee = employeeRepository.upsertByEmail(employee);
+        emailBloomFilter.put(email);
+        employeeCache.putAfterCommit(savedEmployee);
+        return savedEmployee;
+    }
+
+    @Override
+    @Transactional
     public void deleteEmployee(Long id) {
-        employeeRepository.deleteById(id);
+        // the email stays in the Bloom filter until the next rebuild, which only costs an extra exists query
+        if (employeeRepository.deleteEmployeeById(id) == 0) {
+            throw new ResourceNotFoundException("Employee not found with given id: "+id);
+        }
+        employeeCache.invalidateAfterCommit(id);
     }
 }
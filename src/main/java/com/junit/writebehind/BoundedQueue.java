@@ -0,0 +1,76 @@
+package com.junit.writebehind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// lock-free multi-producer queue with a hard capacity: producers reserve a slot with a CAS on the
+// size before linking the element, so a full queue rejects without blocking anyone
+public class BoundedQueue<T> {
+
+    private final ConcurrentLinkedQueue<T> elements = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int capacity;
+
+    public BoundedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive, was " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    // reserved slots must be filled with add or handed back with release
+    public boolean reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release() {
+        size.decrementAndGet();
+    }
+
+    public void add(T element) {
+        elements.add(element);
+    }
+
+    // ignores the capacity, for replaying work that was already accepted before a restart
+    public void forceAdd(T element) {
+        size.incrementAndGet();
+        elements.add(element);
+    }
+
+    public boolean offer(T element) {
+        if (!reserve()) {
+            return false;
+        }
+        add(element);
+        return true;
+    }
+
+    public List<T> drain(int max) {
+        List<T> drained = new ArrayList<>(Math.min(max, Math.max(size.get(), 0)));
+        T element;
+        while (drained.size() < max && (element = elements.poll()) != null) {
+            drained.add(element);
+            size.decrementAndGet();
+        }
+        return drained;
+    }
+
+    // counts reserved slots as well, so it can briefly run ahead of what drain returns
+    public int size() {
+        return size.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,162 @@
+package com.junit.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only NDJSON log of accepted creates: an "enqueued" line before the 202 goes out and a "done"
+ * line once the create was flushed. Entries without a done line are replayed on startup, so a crash
+ * re-runs them; a replayed create whose row did commit is recognised by its email and payload and
+ * reported as created again, not duplicated. The file is compacted on startup and truncated whenever
+ * nothing is outstanding. Until open() (and after close()) there is nothing to append to and
+ * recording is a no-op; the service refuses enqueues in that window.
+ */
+public class CreateJournal implements Closeable {
+
+    public enum Durability {
+        // no journal, queued creates are lost on a crash
+        NONE,
+        // written to the OS page cache, survives a process crash but not a power loss
+        WRITE,
+        // forced to disk before the create is acknowledged
+        FSYNC
+    }
+
+    static final String ENQUEUED = "enqueued";
+    static final String DONE = "done";
+
+    private final Path path;
+    private final Durability durability;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+    private int outstanding;
+
+    public CreateJournal(Path path, Durability durability, ObjectMapper objectMapper) {
+        this.path = path;
+        this.durability = durability;
+        this.objectMapper = objectMapper;
+    }
+
+    // returns the creates that were accepted but never finished, in the order they were accepted
+    public synchronized List<Entry> open() throws IOException {
+        if (durability == Durability.NONE) {
+            return List.of();
+        }
+        Map<String, Entry> unfinished = new LinkedHashMap<>();
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    Entry entry;
+                    try {
+                        entry = objectMapper.readValue(line, Entry.class);
+                    } catch (IOException e) {
+                        // a torn last line from a crash mid-write; it was never acknowledged
+                        break;
+                    }
+                    if (ENQUEUED.equals(entry.getOp())) {
+                        unfinished.put(entry.getTrackingId(), entry);
+                    } else {
+                        unfinished.remove(entry.getTrackingId());
+                    }
+                }
+            }
+        } else if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        // start over from a compacted copy, which also drops a torn last line before anything is appended to it
+        List<Entry> replay = new ArrayList<>(unfinished.values());
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        channel = FileChannel.open(compacted, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        write(replay);
+        channel.force(false);
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        outstanding = replay.size();
+        return replay;
+    }
+
+    public synchronized void enqueued(String trackingId, Employee employee) throws IOException {
+        if (durability == Durability.NONE || channel == null) {
+            return;
+        }
+        write(List.of(new Entry(ENQUEUED, trackingId, employee)));
+        outstanding++;
+    }
+
+    public synchronized void done(Collection<String> trackingIds) throws IOException {
+        if (durability == Durability.NONE || channel == null || trackingIds.isEmpty()) {
+            return;
+        }
+        outstanding -= trackingIds.size();
+        if (outstanding <= 0) {
+            outstanding = 0;
+            channel.truncate(0);
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(trackingIds.size());
+        for (String trackingId : trackingIds) {
+            entries.add(new Entry(DONE, trackingId, null));
+        }
+        write(entries);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void write(List<Entry> entries) throws IOException {
+        if (entries.isEmpty()) {
+            return;
+        }
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (durability == Durability.FSYNC) {
+            channel.force(false);
+        }
+    }
+
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Entry {
+        private String op;
+        private String trackingId;
+        private Employee employee;
+    }
+}
@@ -0,0 +1,332 @@
+package com.junit.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.junit.cache.EmailBloomFilter;
+import com.junit.dto.CreateStatus;
+import com.junit.exception.CreateQueueFullException;
+import com.junit.exception.ResourceAlreadyExistsException;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.EmployeeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Opt-in asynchronous creates: requests are acknowledged once queued (and journalled), a single
+ * flusher thread turns them into batched inserts when a batch is full or the flush interval passed.
+ * Duplicate emails are checked once per batch instead of once per create.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class WriteBehindCreateService implements SmartLifecycle {
+
+    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
+    private final EmailBloomFilter emailBloomFilter;
+    private final TransactionTemplate transaction;
+    private final CreateJournal journal;
+    private final BoundedQueue<PendingCreate> queue;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    // bounded by the queue capacity; finished creates move to the expiring cache below
+    private final Map<String, CreateStatus> pending = new ConcurrentHashMap<>();
+    private final Cache<String, CreateStatus> finished;
+
+    private volatile boolean running;
+    private volatile Thread flusher;
+    // enqueues share the read lock; stop() takes the write lock to flip running, so once it holds it no
+    // enqueue is between its running check and the queue, and the flusher's final drain sees every accepted create
+    private final ReentrantReadWriteLock acceptLock = new ReentrantReadWriteLock();
+
+    public WriteBehindCreateService(EmployeeRepository employeeRepository, EmployeeService employeeService,
+                                    EmailBloomFilter emailBloomFilter, PlatformTransactionManager transactionManager,
+                                    ObjectMapper objectMapper,
+                                    @Value("${employee.write-behind.capacity:10000}") int capacity,
+                                    @Value("${employee.write-behind.batch-size:500}") int batchSize,
+                                    @Value("${employee.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                    @Value("${employee.write-behind.status-retention:1h}") Duration statusRetention,
+                                    @Value("${employee.write-behind.journal.path:data/create-journal.ndjson}") Path journalPath,
+                                    @Value("${employee.write-behind.journal.durability:WRITE}") CreateJournal.Durability durability) {
+        this.employeeRepository = employeeRepository;
+        this.employeeService = employeeService;
+        this.emailBloomFilter = emailBloomFilter;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.journal = new CreateJournal(journalPath, durability, objectMapper);
+        this.queue = new BoundedQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.finished = Caffeine.newBuilder()
+                .expireAfterWrite(statusRetention)
+                .maximumSize(Math.max(capacity, 10_000))
+                .build();
+    }
+
+    public CreateStatus enqueue(Employee employee) {
+        acceptLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new CreateQueueFullException("Asynchronous creates are not being accepted right now");
+            }
+            if (!queue.reserve()) {
+                throw new CreateQueueFullException("Create queue is full (" + queue.capacity() + "), retry later");
+            }
+            String trackingId = UUID.randomUUID().toString();
+            try {
+                journal.enqueued(trackingId, employee);
+            } catch (IOException e) {
+                queue.release();
+                throw new UncheckedIOException("Could not journal create " + trackingId, e);
+            }
+            CreateStatus status = CreateStatus.pending(trackingId);
+            pending.put(trackingId, status);
+            queue.add(new PendingCreate(trackingId, employee));
+            if (queue.size() >= batchSize) {
+                LockSupport.unpark(flusher);
+            }
+            return status;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+    }
+
+    public Optional<CreateStatus> getStatus(String trackingId) {
+        CreateStatus status = pending.get(trackingId);
+        return status != null ? Optional.of(status) : Optional.ofNullable(finished.getIfPresent(trackingId));
+    }
+
+    public int queued() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        List<CreateJournal.Entry> unfinished;
+        try {
+            unfinished = journal.open();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the create journal", e);
+        }
+        for (CreateJournal.Entry entry : unfinished) {
+            pending.put(entry.getTrackingId(), CreateStatus.pending(entry.getTrackingId()));
+            queue.forceAdd(new PendingCreate(entry.getTrackingId(), entry.getEmployee(), true));
+        }
+        if (!unfinished.isEmpty()) {
+            log.info("Replaying {} journalled creates", unfinished.size());
+        }
+        running = true;
+        Thread thread = new Thread(this::flushLoop, "write-behind-flusher");
+        thread.setDaemon(true);
+        flusher = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        Thread thread = flusher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Could not close the create journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // starts before and stops after the web server, so accepted creates are drained before the datasource goes away
+    @Override
+    public int getPhase() {
+        return DEFAULT_PHASE - 2048;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            long deadline = System.nanoTime() + flushIntervalNanos;
+            long remaining;
+            while (running && queue.size() < batchSize && (remaining = deadline - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(this, remaining);
+            }
+            flushAvailable(false);
+        }
+        flushAvailable(true);
+    }
+
+    private void flushAvailable(boolean all) {
+        List<PendingCreate> batch;
+        do {
+            batch = queue.drain(batchSize);
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (RuntimeException e) {
+                    log.error("Write-behind flush of {} creates failed", batch.size(), e);
+                }
+            }
+        } while (all && !batch.isEmpty());
+    }
+
+    void flush(List<PendingCreate> batch) {
+        Map<String, CreateStatus> results = new LinkedHashMap<>();
+        List<PendingCreate> candidates = new ArrayList<>(batch.size());
+        Set<String> batchEmails = new HashSet<>();
+        for (PendingCreate create : batch) {
+            if (batchEmails.add(EmailBloomFilter.normalize(create.employee.getEmail()))) {
+                candidates.add(create);
+            } else {
+                results.put(create.trackingId, rejected(create, "Employee email repeated in batch: " + create.employee.getEmail()));
+            }
+        }
+        try {
+            List<PendingCreate> created = transaction.execute(status -> insertNew(candidates, results));
+            for (PendingCreate create : created) {
+                emailBloomFilter.put(create.employee.getEmail());
+                results.put(create.trackingId, new CreateStatus(create.trackingId, CreateStatus.State.CREATED,
+                        create.employee.getId(), null));
+            }
+        } catch (DataIntegrityViolationException e) {
+            // a synchronous create took one of the emails after the check; isolate it one create at a time
+            for (PendingCreate create : candidates) {
+                if (!results.containsKey(create.trackingId)) {
+                    results.put(create.trackingId, createAlone(create));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Write-behind batch of {} creates failed", candidates.size(), e);
+            for (PendingCreate create : candidates) {
+                results.putIfAbsent(create.trackingId, new CreateStatus(create.trackingId, CreateStatus.State.FAILED,
+                        null, "Create failed, resubmit"));
+            }
+        }
+        complete(results);
+    }
+
+    private List<PendingCreate> insertNew(List<PendingCreate> candidates, Map<String, CreateStatus> results) {
+        List<String> emails = new ArrayList<>(candidates.size());
+        for (PendingCreate create : candidates) {
+            emails.add(create.employee.getEmail());
+        }
+        Set<String> existing = new HashSet<>();
+        for (String email : employeeRepository.findExistingEmails(emails)) {
+            existing.add(EmailBloomFilter.normalize(email));
+        }
+        List<PendingCreate> created = new ArrayList<>(candidates.size());
+        for (PendingCreate create : candidates) {
+            if (existing.contains(EmailBloomFilter.normalize(create.employee.getEmail()))) {
+                results.put(create.trackingId, create.replayed ? replayedResult(create) : alreadyExists(create));
+            } else {
+                // saved copies, so a rolled back batch leaves the queued employees without ids for the retry
+                PendingCreate copy = new PendingCreate(create.trackingId, newEmployee(create.employee));
+                employeeRepository.save(copy.employee);
+                created.add(copy);
+            }
+        }
+        return created;
+    }
+
+    // a replayed create may have committed before the crash that lost its done line; its own row is not a conflict
+    private CreateStatus replayedResult(PendingCreate create) {
+        return employeeRepository.findByEmail(create.employee.getEmail())
+                .filter(saved -> Objects.equals(saved.getFirstName(), create.employee.getFirstName())
+                        && Objects.equals(saved.getLastName(), create.employee.getLastName()))
+                .map(saved -> new CreateStatus(create.trackingId, CreateStatus.State.CREATED, saved.getId(), null))
+                .orElseGet(() -> alreadyExists(create));
+    }
+
+    private static CreateStatus alreadyExists(PendingCreate create) {
+        return rejected(create, "Employee already exit with given email: " + create.employee.getEmail());
+    }
+
+    private CreateStatus createAlone(PendingCreate create) {
+        try {
+            Employee saved = employeeService.saveEmployee(newEmployee(create.employee));
+            return new CreateStatus(create.trackingId, CreateStatus.State.CREATED, saved.getId(), null);
+        } catch (ResourceAlreadyExistsException e) {
+            return create.replayed ? replayedResult(create) : rejected(create, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Write-behind create {} failed", create.trackingId, e);
+            return new CreateStatus(create.trackingId, CreateStatus.State.FAILED, null, "Create failed, resubmit");
+        }
+    }
+
+    private void complete(Map<String, CreateStatus> results) {
+        for (CreateStatus status : results.values()) {
+            finished.put(status.getTrackingId(), status);
+            pending.remove(status.getTrackingId());
+        }
+        try {
+            journal.done(results.keySet());
+        } catch (IOException e) {
+            // the creates are done; at worst they are replayed and rejected as duplicates after a restart
+            log.warn("Could not journal {} finished creates", results.size(), e);
+        }
+    }
+
+    // always an insert, whatever id or version the client sent
+    private static Employee newEmployee(Employee employee) {
+        return employee.toBuilder().id(null).version(null).build();
+    }
+
+    private static CreateStatus rejected(PendingCreate create, String message) {
+        return new CreateStatus(create.trackingId, CreateStatus.State.REJECTED, null, message);
+    }
+
+    static final class PendingCreate {
+        private final String trackingId;
+        private final Employee employee;
+        // read back from the journal after a restart
+        private final boolean replayed;
+
+        PendingCreate(String trackingId, Employee employee) {
+            this(trackingId, employee, false);
+        }
+
+        PendingCreate(String trackingId, Employee employee, boolean replayed) {
+            this.trackingId = trackingId;
+            this.employee = employee;
+            this.replayed = replayed;
+        }
+    }
+}
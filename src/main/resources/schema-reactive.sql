@@ -0,0 +1,11 @@
+-- mirrors the Hibernate mapping of Employee; the increment must match EmployeeIdAllocator.ALLOCATION_SIZE
+create sequence if not exists employee_seq start with 1 increment by 50;
+
+create table if not exists employees (
+    id bigint not null primary key,
+    first_name varchar(255) not null,
+    last_name varchar(255) not null,
+    email varchar(255) not null,
+    version bigint,
+    constraint uk_employees_email unique (email)
+);
@@ -0,0 +1,128 @@
+package com.junit.cache;
+
+import com.junit.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class EmailBloomFilterTests {
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EmailBloomFilter emailBloomFilter;
+
+    @BeforeEach
+    public void setup() {
+        emailBloomFilter = new EmailBloomFilter(employeeRepository, transactionManager, 1000, 0.01, true);
+    }
+
+    //    Junit test for the filter before the first load
+    @Test
+    @DisplayName("Junit test for the filter before the first load")
+    public void givenFilterNotLoaded_whenMightContain_thenReturnTrue() {
+
+        //when - action or the behaviour that we are going to test
+        boolean mightContain = emailBloomFilter.mightContain("vaibhav.maithani1@gmail.com");
+
+        //then- verify the output
+        assertThat(mightContain).isTrue();
+        assertThat(emailBloomFilter.isLoaded()).isFalse();
+    }
+
+    //    Junit test for loading the filter from a streaming scan
+    @Test
+    @DisplayName("Junit test for loading the filter from a streaming scan")
+    public void givenStoredEmails_whenRebuild_thenKnownEmailsHitAndUnknownMiss() {
+
+        //given- precondition or setup
+        given(employeeRepository.count()).willReturn(1L);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.of("Vaibhav.Maithani1@gmail.com"));
+
+        //when - action or the behaviour that we are going to test
+        emailBloomFilter.rebuild();
+
+        //then- verify the output
+        assertThat(emailBloomFilter.mightContain("vaibhav.maithani1@gmail.com")).isTrue();
+        assertThat(emailBloomFilter.mightContain("rahul.maithani1@gmail.com")).isFalse();
+        assertThat(emailBloomFilter.definiteMisses()).isEqualTo(1);
+        assertThat(emailBloomFilter.possibleHits()).isEqualTo(1);
+    }
+
+    //    Junit test for emails saved after the load
+    @Test
+    @DisplayName("Junit test for emails saved after the load")
+    public void givenLoadedFilter_whenPut_thenEmailHits() {
+
+        //given- precondition or setup
+        given(employeeRepository.count()).willReturn(0L);
+        given(employeeRepository.streamAllEmails()).willReturn(Stream.empty());
+        emailBloomFilter.rebuild();
+
+        //when - action or the behaviour that we are going to test
+        emailBloomFilter.put("rahul.maithani1@gmail.com");
+
+        //then- verify the output
+        assertThat(emailBloomFilter.mightContain("rahul.maithani1@gmail.com")).isTrue();
+    }
+
+    //    Junit test for emails saved while the filter is being rebuilt
+    @Test
+    @DisplayName("Junit test for emails saved while the filter is being rebuilt")
+    public void givenPutsDuringRebuild_whenRebuildSwaps_thenNoEmailIsLost() {
+
+        //given- precondition or setup
+        given(employeeRepository.count()).willAnswer(invocation -> {
+            emailBloomFilter.put("rahul.maithani1@gmail.com");
+            return 1L;
+        });
+        given(employeeRepository.streamAllEmails()).willAnswer(invocation -> {
+            emailBloomFilter.put("amit.maithani1@gmail.com");
+            return Stream.of("vaibhav.maithani1@gmail.com");
+        });
+
+        //when - action or the behaviour that we are going to test
+        emailBloomFilter.rebuild();
+
+        //then- verify the output
+        assertThat(emailBloomFilter.mightContain("vaibhav.maithani1@gmail.com")).isTrue();
+        assertThat(emailBloomFilter.mightContain("rahul.maithani1@gmail.com")).isTrue();
+        assertThat(emailBloomFilter.mightContain("amit.maithani1@gmail.com")).isTrue();
+    }
+
+    //    Junit test for the false-positive rate staying near its target
+    @Test
+    @DisplayName("Junit test for the false-positive rate staying near its target")
+    public void givenFilledFilter_whenProbingUnknownValues_thenFalsePositiveRateNearTarget() {
+
+        //given- precondition or setup
+        BloomFilter filter = BloomFilter.create(10000, 0.01);
+        for (int i = 0; i < 10000; i++) {
+            filter.put("employee" + i + "@gmail.com");
+        }
+
+        //when - action or the behaviour that we are going to test
+        int falsePositives = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (filter.mightContain("candidate" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+
+        //then- verify the output
+        assertThat(falsePositives / 10000.0).isLessThan(0.03);
+        assertThat(filter.expectedFalsePositiveRate()).isLessThan(0.03);
+    }
+}
@@ -0,0 +1,89 @@
+package com.junit.cache;
+
+import com.junit.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeCacheTests {
+
+    private EmployeeCache employeeCache;
+
+    private Employee employee1;
+
+    @BeforeEach
+    public void setup() {
+        employeeCache = new EmployeeCache(100, Duration.ofMinutes(1));
+        employee1 = Employee.builder()
+                .id(1L)
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+    }
+
+    //    Junit test for cache hit and miss counters
+    @Test
+    @DisplayName("Junit test for cache hit and miss counters")
+    public void givenEmployee_whenGetTwice_thenOneMissAndOneHit() {
+
+        //given- precondition or setup
+        AtomicInteger loads = new AtomicInteger();
+
+        //when - action or the behaviour that we are going to test
+        employeeCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(employee1);
+        });
+        employeeCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return Optional.of(employee1);
+        });
+
+        //then- verify the output
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(employeeCache.stats().missCount()).isEqualTo(1);
+        assertThat(employeeCache.stats().hitCount()).isEqualTo(1);
+    }
+
+    //    Junit test for cache entries being isolated from callers
+    @Test
+    @DisplayName("Junit test for cache entries being isolated from callers")
+    public void givenCachedEmployee_whenCallerMutatesResult_thenCachedValueUnchanged() {
+
+        //given- precondition or setup
+        employeeCache.put(employee1);
+
+        //when - action or the behaviour that we are going to test
+        employeeCache.get(1L, id -> Optional.empty()).get().setFirstName("Rahul");
+        employee1.setFirstName("Rahul");
+
+        //then- verify the output
+        assertThat(employeeCache.get(1L, id -> Optional.empty()).get().getFirstName()).isEqualTo("Vaibhav");
+    }
+
+    //    Junit test for write-through refresh and invalidation
+    @Test
+    @DisplayName("Junit test for write-through refresh and invalidation")
+    public void givenCachedEmployee_whenPutAndInvalidate_thenReflectLatestWrite() {
+
+        //given- precondition or setup
+        employeeCache.put(employee1);
+        Employee updatedEmployee = employee1.toBuilder().firstName("Rahul").build();
+
+        //when - action or the behaviour that we are going to test
+        employeeCache.put(updatedEmployee);
+        String cachedFirstName = employeeCache.get(1L, id -> Optional.empty()).get().getFirstName();
+        employeeCache.invalidate(1L);
+
+        //then- verify the output
+        assertThat(cachedFirstName).isEqualTo("Rahul");
+        assertThat(employeeCache.get(1L, id -> Optional.empty())).isEmpty();
+    }
+}
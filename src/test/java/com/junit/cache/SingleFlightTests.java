@@ -0,0 +1,115 @@
+package com.junit.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTests {
+
+    private static final int FOLLOWERS = 8;
+
+    //    Junit test for concurrent callers sharing one load
+    @Test
+    @DisplayName("Junit test for concurrent callers sharing one load")
+    public void givenLoadInFlight_whenSameKeyRequestedConcurrently_thenLoadRunsOnce() throws Exception {
+
+        //given- precondition or setup
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(FOLLOWERS + 1);
+
+        //when - action or the behaviour that we are going to test
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            loads.incrementAndGet();
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            return "employee-1";
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        List<Future<String>> followers = new ArrayList<>();
+        for (int i = 0; i < FOLLOWERS; i++) {
+            followers.add(executor.submit(() -> singleFlight.execute(1L, () -> {
+                loads.incrementAndGet();
+                return "unexpected";
+            })));
+        }
+        Thread.sleep(200);
+        release.countDown();
+
+        //then- verify the output
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("employee-1");
+        for (Future<String> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("employee-1");
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        executor.shutdownNow();
+    }
+
+    //    Junit test for the loader exception being shared with followers
+    @Test
+    @DisplayName("Junit test for the loader exception being shared with followers")
+    public void givenFailingLoad_whenSameKeyRequestedConcurrently_thenEveryCallerSeesTheException() throws Exception {
+
+        //given- precondition or setup
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        //when - action or the behaviour that we are going to test
+        Future<String> leader = executor.submit(() -> singleFlight.execute(1L, () -> {
+            leaderStarted.countDown();
+            awaitQuietly(release);
+            throw new IllegalStateException("database unavailable");
+        }));
+        leaderStarted.await(5, TimeUnit.SECONDS);
+        Future<String> follower = executor.submit(() -> singleFlight.execute(1L, () -> "unexpected"));
+        Thread.sleep(200);
+        release.countDown();
+
+        //then- verify the output
+        Exception leaderFailure = Assertions.assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        Exception followerFailure = Assertions.assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+        assertThat(leaderFailure.getCause()).isInstanceOf(IllegalStateException.class);
+        assertThat(followerFailure.getCause()).isSameAs(leaderFailure.getCause());
+        executor.shutdownNow();
+    }
+
+    //    Junit test for completed loads not being retained
+    @Test
+    @DisplayName("Junit test for completed loads not being retained")
+    public void givenCompletedLoad_whenSameKeyRequestedAgain_thenLoadRunsAgain() {
+
+        //given- precondition or setup
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+        AtomicInteger loads = new AtomicInteger();
+
+        //when - action or the behaviour that we are going to test
+        singleFlight.execute("vaibhav.maithani1@gmail.com", loads::incrementAndGet);
+        Integer second = singleFlight.execute("vaibhav.maithani1@gmail.com", loads::incrementAndGet);
+
+        //then- verify the output
+        assertThat(second).isEqualTo(2);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
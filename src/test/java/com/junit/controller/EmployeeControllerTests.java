@@ -2,8 +2,21 @@ package com.junit.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.csv.CsvFormatException;
+import com.junit.dto.EmployeeField;
+import com.junit.dto.EmployeeFieldsPage;
+import com.junit.dto.EmployeeLookupResult;
+import com.junit.dto.EmployeePage;
+import com.junit.dto.EmployeePatch;
+import com.junit.dto.EmployeeVersion;
+import com.junit.dto.ImportResult;
+import com.junit.dto.ImportRowError;
+import com.junit.exception.ResourceAlreadyExistsException;
+import com.junit.exception.ResourceNotFoundException;
 import com.junit.model.Employee;
+import com.junit.servcie.EmployeeImportService;
 import com.junit.servcie.EmployeeService;
+import org.hibernate.exception.ConstraintViolationException;
 
 import static org.hamcrest.CoreMatchers.is;
 
@@ -18,17 +31,29 @@ import static org.mockito.BDDMockito.given;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @WebMvcTest
 public class EmployeeControllerTests {
@@ -38,6 +63,8 @@ public class EmployeeControllerTests {
     private ObjectMapper objectMapper;
     @MockBean
     private EmployeeService employeeService;
+    @MockBean
+    private EmployeeImportService employeeImportService;
 
 
     //    Junit test for create employee method REST API
@@ -69,6 +96,112 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employee1.getEmail())));
     }
 
+    //    Junit test for batch create employees REST API
+    @Test
+    @DisplayName(" Junit test for batch create employees REST API")
+    public void givenEmployeeList_whenCreateEmployees_thenReturnSavedEmployees() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+
+        given(employeeService.saveAllEmployees(anyList()))
+                .willAnswer((invocation) -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(employee1, employee2))));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].email", is(employee2.getEmail())));
+    }
+
+    //    Junit test for create employee REST API mapping the already exists exception
+    @Test
+    @DisplayName(" Junit test for create employee REST API mapping the already exists exception")
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409ErrorBody() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        given(employeeService.saveEmployee(any(Employee.class)))
+                .willThrow(new ResourceAlreadyExistsException("Employee already exit with given email: " + employee1.getEmail()));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)));
+
+        //then- verify the output
+        response.andExpect(status().isConflict())
+                .andDo(print())
+                .andExpect(jsonPath("$.status", is(409)));
+    }
+
+    //    Junit test for batch create employees REST API mapping a duplicate email violation
+    @Test
+    @DisplayName(" Junit test for batch create employees REST API mapping a duplicate email violation")
+    public void givenDuplicateEmailViolation_whenCreateEmployees_thenReturn409() throws Exception {
+
+        //given- precondition or setup
+        List<Employee> employees = List.of(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+        given(employeeService.saveAllEmployees(anyList())).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), Employee.EMAIL_UNIQUE_CONSTRAINT)));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        //then- verify the output
+        response.andExpect(status().isConflict())
+                .andDo(print())
+                .andExpect(jsonPath("$.status", is(409)));
+    }
+
+    //    Junit test for batch create employees REST API mapping any other integrity violation
+    @Test
+    @DisplayName(" Junit test for batch create employees REST API mapping any other integrity violation")
+    public void givenNotNullViolation_whenCreateEmployees_thenReturn400() throws Exception {
+
+        //given- precondition or setup
+        List<Employee> employees = List.of(Employee.builder()
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+        given(employeeService.saveAllEmployees(anyList())).willThrow(new DataIntegrityViolationException("not null",
+                new ConstraintViolationException("not null", new SQLException(), null)));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)));
+
+        //then- verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print())
+                .andExpect(jsonPath("$.status", is(400)));
+    }
+
     //    Junit test for get all employees REST Api
     @Test
     @DisplayName(" Junit test for get all employees REST Api")
@@ -100,6 +233,219 @@ public class EmployeeControllerTests {
     }
 
 
+    //    Junit test for keyset paginated get employees REST Api
+    @Test
+    @DisplayName(" Junit test for keyset paginated get employees REST Api")
+    public void givenCursorAndLimit_whenGetEmployeesPage_thenReturnPageWithNextCursor() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(11L)
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .id(12L)
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        given(employeeService.getEmployeesAfter(10L, 2))
+                .willReturn(new EmployeePage(List.of(employee1, employee2), 12L));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("after", "10")
+                .param("limit", "2"));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(2)))
+                .andExpect(jsonPath("$.nextCursor", is(12)));
+    }
+
+
+    //    Junit test for keyset paginated get employees REST Api without a limit
+    @Test
+    @DisplayName(" Junit test for keyset paginated get employees REST Api without a limit")
+    public void givenCursorWithoutLimit_whenGetEmployees_thenReturnDefaultSizedPage() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(11L)
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        given(employeeService.getEmployeesAfter(10L, EmployeeController.DEFAULT_PAGE_SIZE))
+                .willReturn(new EmployeePage(List.of(employee1), null));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("after", "10"));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+
+    //    Junit test for sparse fieldset get employees REST Api
+    @Test
+    @DisplayName(" Junit test for sparse fieldset get employees REST Api")
+    public void givenFields_whenGetAllEmployees_thenReturnOnlyRequestedFields() throws Exception {
+
+        //given- precondition or setup
+        List<EmployeeField> fields = List.of(EmployeeField.ID, EmployeeField.FIRST_NAME);
+        Map<String, Object> row1 = new LinkedHashMap<>();
+        row1.put("id", 1);
+        row1.put("firstName", "Vaibhav");
+        Map<String, Object> row2 = new LinkedHashMap<>();
+        row2.put("id", 2);
+        row2.put("firstName", "Rahul");
+        given(employeeService.getAllEmployees(fields)).willReturn(List.of(row1, row2));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "id,firstName"));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.size()", is(2)))
+                .andExpect(jsonPath("$[1].firstName", is("Rahul")))
+                .andExpect(jsonPath("$[0].email").doesNotExist());
+        verify(employeeService, never()).getAllEmployees();
+    }
+
+    //    Junit test for sparse fieldset get employees REST Api with an unknown field
+    @Test
+    @DisplayName(" Junit test for sparse fieldset get employees REST Api with an unknown field")
+    public void givenUnknownField_whenGetAllEmployees_thenReturn400() throws Exception {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("fields", "id,salary"));
+
+        //then- verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).getAllEmployees(anyList());
+    }
+
+    //    Junit test for multi-get employees REST Api
+    @Test
+    @DisplayName(" Junit test for multi-get employees REST Api")
+    public void givenIds_whenGetEmployeesByIds_thenReturnFoundAndMissing() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(1L)
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        given(employeeService.getEmployeesByIds(List.of(1L, 2L)))
+                .willReturn(new EmployeeLookupResult(List.of(employee1), List.of(2L)));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees").param("ids", "1,2"));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.employees.size()", is(1)))
+                .andExpect(jsonPath("$.employees[0].id", is(1)))
+                .andExpect(jsonPath("$.missingIds[0]", is(2)));
+    }
+
+    //    Junit test for multi-get employees REST Api combined with a sparse fieldset
+    @Test
+    @DisplayName(" Junit test for multi-get employees REST Api combined with a sparse fieldset")
+    public void givenIdsAndFields_whenGetEmployees_thenReturn400() throws Exception {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("ids", "1,2")
+                .param("fields", "id,firstName"));
+
+        //then- verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+        verify(employeeService, never()).getEmployeesByIds(anyList());
+    }
+
+    //    Junit test for sparse fieldset keyset paginated get employees REST Api without a limit
+    @Test
+    @DisplayName(" Junit test for sparse fieldset keyset paginated get employees REST Api without a limit")
+    public void givenCursorAndFieldsWithoutLimit_whenGetEmployees_thenReturnDefaultSizedPage() throws Exception {
+
+        //given- precondition or setup
+        List<EmployeeField> fields = List.of(EmployeeField.ID, EmployeeField.FIRST_NAME);
+        Map<String, Object> row1 = new LinkedHashMap<>();
+        row1.put("id", 11);
+        row1.put("firstName", "Vaibhav");
+        given(employeeService.getEmployeesAfter(10L, EmployeeController.DEFAULT_PAGE_SIZE, fields))
+                .willReturn(new EmployeeFieldsPage(List.of(row1), null));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .param("after", "10")
+                .param("fields", "id,firstName"));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.content.size()", is(1)))
+                .andExpect(jsonPath("$.content[0].firstName", is("Vaibhav")));
+        verify(employeeService, never()).getAllEmployees(anyList());
+    }
+
+    //    Junit test for NDJSON export REST Api
+    @Test
+    @DisplayName(" Junit test for NDJSON export REST Api")
+    public void givenListOfEmployee_whenExportEmployees_thenStreamOneJsonObjectPerLine() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        willAnswer(invocation -> {
+            Consumer<Employee> consumer = invocation.getArgument(0);
+            consumer.accept(employee1);
+            consumer.accept(employee2);
+            return null;
+        }).given(employeeService).exportEmployees(any());
+
+        //when - action or the behaviour that we are going to test
+        MvcResult started = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        ResultActions response = mockMvc.perform(asyncDispatch(started));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(
+                        objectMapper.writeValueAsString(employee1) + "\n"
+                                + objectMapper.writeValueAsString(employee2) + "\n"));
+    }
+
+
     //Positive Scenerio
     //    Junit test for GET employee by id REST API
     @Test
@@ -126,6 +472,83 @@ public class EmployeeControllerTests {
                 .andExpect(jsonPath("$.email", is(employee1.getEmail())));
     }
 
+    //    Junit test for conditional GET employee by id REST API
+    @Test
+    @DisplayName(" Junit test for conditional GET employee by id REST API")
+    public void givenCurrentETag_whenGetEmployeeById_thenReturnNotModifiedWithoutLoading() throws Exception {
+
+        Long employeeId = 1L;
+        //given- precondition or setup
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(3L));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""));
+
+        //then- verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3\""))
+                .andExpect(content().string(""));
+        verify(employeeService, never()).getEmployeeById(employeeId);
+    }
+
+    //    Junit test for conditional GET employee by id REST API with a stale ETag
+    @Test
+    @DisplayName(" Junit test for conditional GET employee by id REST API with a stale ETag")
+    public void givenStaleETag_whenGetEmployeeById_thenReturnEmployeeWithNewETag() throws Exception {
+
+        Long employeeId = 1L;
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(employeeId)
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .version(4L)
+                .build();
+        given(employeeService.getEmployeeVersion(employeeId)).willReturn(Optional.of(4L));
+        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(employee1));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"1-3\""));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-4\""))
+                .andExpect(jsonPath("$.firstName", is(employee1.getFirstName())));
+    }
+
+    //    Junit test for conditional get all employees REST Api
+    @Test
+    @DisplayName(" Junit test for conditional get all employees REST Api")
+    public void givenListETag_whenGetEmployeeListUnchanged_thenReturnNotModified() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .id(1L)
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .version(0L)
+                .build();
+        given(employeeService.getAllEmployees()).willReturn(List.of(employee1));
+        given(employeeService.getEmployeeVersions()).willReturn(List.of(new EmployeeVersion(1L, 0L)));
+        String etag = mockMvc.perform(get("/api/employees"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        //then- verify the output
+        response.andExpect(status().isNotModified())
+                .andDo(print());
+        verify(employeeService, times(1)).getAllEmployees();
+    }
+
     //Negative Scenerio
     //    Junit test for GET employee by id REST API
     @Test
@@ -150,6 +573,26 @@ public class EmployeeControllerTests {
 
     }
 
+    //    Junit test for GET employee by id REST API mapping the not found exception
+    @Test
+    @DisplayName(" Junit test for GET employee by id REST API mapping the not found exception")
+    public void givenUnknownEmployeeId_whenGetEmployeeById_thenReturn404ErrorBody() throws Exception {
+
+        Long employeeId = 1L;
+        //given- precondition or setup
+        given(employeeService.getEmployeeById(employeeId))
+                .willThrow(new ResourceNotFoundException("Employee not found with given id: " + employeeId));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
+
+        //then- verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print())
+                .andExpect(jsonPath("$.status", is(404)))
+                .andExpect(jsonPath("$.message", is("Employee not found")));
+    }
+
     //    Positive Scenario
     //    Junit test for update employee REST API
     @Test
@@ -171,11 +614,9 @@ public class EmployeeControllerTests {
                 .build();
 
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.of(savedEmployee));
-
         given(employeeService
-                .updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+                .updateEmployee(eq(employeeId), any(Employee.class)))
+                .willAnswer((invocation) -> invocation.getArgument(1));
 
         //when - action or the behaviour that we are going to test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -213,11 +654,9 @@ public class EmployeeControllerTests {
                 .build();
 
 
-        given(employeeService.getEmployeeById(employeeId)).willReturn(Optional.empty());
-
         given(employeeService
-                .updateEmployee(any(Employee.class)))
-                .willAnswer((invocation) -> invocation.getArgument(0));
+                .updateEmployee(eq(employeeId), any(Employee.class)))
+                .willThrow(new ResourceNotFoundException("Employee not found with given id: "+employeeId));
 
         //when - action or the behaviour that we are going to test
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
@@ -230,6 +669,63 @@ public class EmployeeControllerTests {
 
     }
 
+    //    Junit test for patch employee REST API
+    @Test
+    @DisplayName(" Junit test for patch employee REST API")
+    public void givenPartialChanges_whenPatchEmployee_thenReturnPatchedEmployee() throws Exception {
+
+        Long employeeId = 1L;
+        //given- precondition or setup
+        Employee patchedEmployee = Employee.builder()
+                .id(employeeId)
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .version(1L)
+                .build();
+        given(employeeService.patchEmployee(eq(employeeId), any(EmployeePatch.class))).willReturn(patchedEmployee);
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(patch("/api/employees/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"firstName\":\"Rahul\",\"version\":0}"));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.firstName", is("Rahul")))
+                .andExpect(jsonPath("$.version", is(1)));
+    }
+
+    //    Junit test for upsert employee by email REST API
+    @Test
+    @DisplayName(" Junit test for upsert employee by email REST API")
+    public void givenEmailAndEmployee_whenUpsertEmployee_thenReturnUpsertedEmployee() throws Exception {
+
+        //given- precondition or setup
+        Employee employee = Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .build();
+        given(employeeService.upsertEmployee(eq("vaibhav.maithani1@gmail.com"), any(Employee.class)))
+                .willAnswer((invocation) -> {
+                    Employee upserted = invocation.getArgument(1);
+                    upserted.setEmail(invocation.getArgument(0));
+                    return upserted;
+                });
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(put("/api/employees/by-email/{email}", "vaibhav.maithani1@gmail.com")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.firstName", is(employee.getFirstName())))
+                .andExpect(jsonPath("$.email", is("vaibhav.maithani1@gmail.com")));
+    }
+
     //    Junit test for delete employee REST API
         @Test
         @DisplayName(" Junit test for")
@@ -248,4 +744,47 @@ public class EmployeeControllerTests {
         }
 
 
+    //    Junit test for CSV import REST API
+    @Test
+    @DisplayName("Junit test for CSV import REST API")
+    public void givenCsvUpload_whenImportEmployees_thenReturnImportReport() throws Exception {
+
+        //given- precondition or setup
+        String csv = "firstName,lastName,email\nVaibhav,Maithani,vaibhav.maithani1@gmail.com\nJohn,Cena,vaibhav.maithani1@gmail.com\n";
+        given(employeeImportService.importCsv(any(InputStream.class))).willReturn(new ImportResult(2, 1, 1,
+                List.of(new ImportRowError(3, "vaibhav.maithani1@gmail.com",
+                        "Employee email repeated in import: vaibhav.maithani1@gmail.com"))));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/import")
+                .contentType("text/csv")
+                .content(csv));
+
+        //then- verify the output
+        response.andExpect(status().isOk())
+                .andDo(print())
+                .andExpect(jsonPath("$.rowsRead", is(2)))
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(3)));
+    }
+
+    //    Junit test for CSV import REST API without a header
+    @Test
+    @DisplayName("Junit test for CSV import REST API without a header")
+    public void givenCsvWithoutHeader_whenImportEmployees_thenReturn400() throws Exception {
+
+        //given- precondition or setup
+        given(employeeImportService.importCsv(any(InputStream.class)))
+                .willThrow(new CsvFormatException(1, "Header is missing the email column"));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees/import")
+                .contentType("text/csv")
+                .content("Vaibhav,Maithani,vaibhav.maithani1@gmail.com\n"));
+
+        //then- verify the output
+        response.andExpect(status().isBadRequest())
+                .andDo(print());
+    }
+
 }
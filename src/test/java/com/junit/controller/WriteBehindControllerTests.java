@@ -0,0 +1,195 @@
+package com.junit.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.dto.CreateStatus;
+import com.junit.exception.CreateQueueFullException;
+import com.junit.model.Employee;
+import com.junit.servcie.EmployeeImportService;
+import com.junit.servcie.EmployeeService;
+import com.junit.writebehind.WriteBehindCreateService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {EmployeeController.class, WriteBehindController.class},
+        properties = "employee.write-behind.enabled=true")
+public class WriteBehindControllerTests {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @MockBean
+    private EmployeeService employeeService;
+    @MockBean
+    private EmployeeImportService employeeImportService;
+    @MockBean
+    private WriteBehindCreateService writeBehindCreateService;
+
+    private final Employee employee1 = Employee.builder()
+            .firstName("Vaibhav")
+            .lastName("Maithani")
+            .email("vaibhav.maithani1@gmail.com")
+            .build();
+
+    //    Junit test for asynchronous create employee REST API
+    @Test
+    @DisplayName("Junit test for asynchronous create employee REST API")
+    public void givenPreferRespondAsync_whenCreateEmployee_thenAcceptedWithTrackingId() throws Exception {
+
+        //given- precondition or setup
+        given(writeBehindCreateService.enqueue(any(Employee.class))).willReturn(CreateStatus.pending("tracking-1"));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .header(EmployeeController.PREFER_HEADER, EmployeeController.RESPOND_ASYNC)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(header().string(HttpHeaders.LOCATION, "/api/employees/creates/tracking-1"))
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andExpect(jsonPath("$.trackingId", is("tracking-1")))
+                .andExpect(jsonPath("$.state", is("PENDING")));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+    }
+
+    //    Junit test for asynchronous create employee REST API with several preferences
+    @Test
+    @DisplayName("Junit test for asynchronous create employee REST API with several preferences")
+    public void givenPreferListingRespondAsync_whenCreateEmployee_thenAccepted() throws Exception {
+
+        //given- precondition or setup
+        given(writeBehindCreateService.enqueue(any(Employee.class))).willReturn(CreateStatus.pending("tracking-1"));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .header(EmployeeController.PREFER_HEADER, "return=minimal, Respond-Async; wait=10")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.trackingId", is("tracking-1")));
+        verify(employeeService, never()).saveEmployee(any(Employee.class));
+    }
+
+    //    Junit test for create employee REST API with other preferences only
+    @Test
+    @DisplayName("Junit test for create employee REST API with other preferences only")
+    public void givenPreferWithoutRespondAsync_whenCreateEmployee_thenCreatedSynchronously() throws Exception {
+
+        //given- precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .header(EmployeeController.PREFER_HEADER, "return=representation")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.email", is(employee1.getEmail())));
+        verify(writeBehindCreateService, never()).enqueue(any(Employee.class));
+    }
+
+    //    Junit test for create employee REST API without the Prefer header
+    @Test
+    @DisplayName("Junit test for create employee REST API without the Prefer header")
+    public void givenNoPreferHeader_whenCreateEmployee_thenCreatedSynchronously() throws Exception {
+
+        //given- precondition or setup
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer((invocation) -> invocation.getArgument(0));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.email", is(employee1.getEmail())));
+        verify(writeBehindCreateService, never()).enqueue(any(Employee.class));
+    }
+
+    //    Junit test for asynchronous create employee REST API with a full queue
+    @Test
+    @DisplayName("Junit test for asynchronous create employee REST API with a full queue")
+    public void givenQueueFull_whenCreateEmployeeAsync_thenServiceUnavailable() throws Exception {
+
+        //given- precondition or setup
+        given(writeBehindCreateService.enqueue(any(Employee.class)))
+                .willThrow(new CreateQueueFullException("Create queue is full (10000), retry later"));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(post("/api/employees")
+                .header(EmployeeController.PREFER_HEADER, EmployeeController.RESPOND_ASYNC)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee1)));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+    //    Junit test for create status REST API
+    @Test
+    @DisplayName("Junit test for create status REST API")
+    public void givenFinishedCreate_whenGetCreateStatus_thenReturnStatus() throws Exception {
+
+        //given- precondition or setup
+        given(writeBehindCreateService.getStatus("tracking-1"))
+                .willReturn(Optional.of(new CreateStatus("tracking-1", CreateStatus.State.CREATED, 7L, null)));
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/creates/{trackingId}", "tracking-1"));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state", is("CREATED")))
+                .andExpect(jsonPath("$.employeeId", is(7)));
+    }
+
+    //    Junit test for create status REST API with an unknown tracking id
+    @Test
+    @DisplayName("Junit test for create status REST API with an unknown tracking id")
+    public void givenUnknownTrackingId_whenGetCreateStatus_thenNotFound() throws Exception {
+
+        //given- precondition or setup
+        given(writeBehindCreateService.getStatus("unknown")).willReturn(Optional.empty());
+
+        //when - action or the behaviour that we are going to test
+        ResultActions response = mockMvc.perform(get("/api/employees/creates/{trackingId}", "unknown"));
+
+        //then- verify the output
+        response.andDo(print())
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,65 @@
+package com.junit.csv;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CsvReaderTests {
+
+    //    Junit test for plain and quoted fields
+    @Test
+    @DisplayName("Junit test for plain and quoted fields")
+    public void givenQuotedFields_whenNext_thenCommasQuotesAndLineBreaksKept() throws IOException {
+
+        //given- precondition or setup
+        String csv = "firstName,lastName,email\r\n"
+                + "Vaibhav,\"Maithani, Jr.\",vaibhav@gmail.com\r\n"
+                + "\"Say \"\"Hi\"\"\",\"two\nlines\",\n"
+                + "\n"
+                + "last,row,x@gmail.com";
+
+        //when - action or the behaviour that we are going to test
+        List<List<String>> records = new ArrayList<>();
+        List<Long> lines = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            List<String> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+                lines.add(reader.recordLine());
+            }
+        }
+
+        //then- verify the output
+        assertThat(records).containsExactly(
+                List.of("firstName", "lastName", "email"),
+                List.of("Vaibhav", "Maithani, Jr.", "vaibhav@gmail.com"),
+                List.of("Say \"Hi\"", "two\nlines", ""),
+                List.of(),
+                List.of("last", "row", "x@gmail.com"));
+        assertThat(lines).containsExactly(1L, 2L, 3L, 5L, 6L);
+    }
+
+    //    Junit test for an unterminated quote
+    @Test
+    @DisplayName("Junit test for an unterminated quote")
+    public void givenUnterminatedQuote_whenNext_thenThrowsException() throws IOException {
+
+        //given- precondition or setup
+        CsvReader reader = new CsvReader(new StringReader("a,b\n\"never closed,c\n"));
+        reader.next();
+
+        //when - action or the behaviour that we are going to test
+
+        //then- verify the output
+        assertThatThrownBy(reader::next)
+                .isInstanceOf(CsvFormatException.class)
+                .hasMessageContaining("Line 2");
+    }
+}
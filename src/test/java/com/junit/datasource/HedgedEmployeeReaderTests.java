@@ -0,0 +1,161 @@
+package com.junit.datasource;
+
+import com.junit.model.Employee;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// two in-memory H2 replicas holding the same row, each behind a wrapper that adds latency on demand
+public class HedgedEmployeeReaderTests {
+
+    private static final long HEDGE_DELAY_MILLIS = 50;
+
+    private LatencyInjectingDataSource replica0;
+    private LatencyInjectingDataSource replica1;
+    private HedgedEmployeeReader hedgedEmployeeReader;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        replica0 = new LatencyInjectingDataSource(database("hedge_replica0"));
+        replica1 = new LatencyInjectingDataSource(database("hedge_replica1"));
+        long delay = Duration.ofMillis(HEDGE_DELAY_MILLIS).toNanos();
+        // a tracker that has not seen enough samples yet answers the initial delay
+        hedgedEmployeeReader = new HedgedEmployeeReader(() -> List.of(replica0, replica1),
+                new LatencyTracker(1024, 0.95, delay, delay), 4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        hedgedEmployeeReader.close();
+    }
+
+    //    Junit test for a fast first replica
+    @Test
+    @DisplayName("Junit test for a fast first replica")
+    public void givenFastReplica_whenFindById_thenNoHedge() {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        Optional<Employee> employee = hedgedEmployeeReader.findById(1L);
+
+        //then- verify the output
+        assertThat(employee).get().extracting(Employee::getEmail).isEqualTo("hedge_replica0@gmail.com");
+        assertThat(replica1.queries()).isZero();
+        assertThat(hedgedEmployeeReader.hedges()).isZero();
+    }
+
+    //    Junit test for hedging past a slow replica
+    @Test
+    @DisplayName("Junit test for hedging past a slow replica")
+    public void givenSlowFirstReplica_whenFindById_thenSecondReplicaAnswersAndSlowQueryIsCancelled() {
+
+        //given- precondition or setup
+        replica0.setDelayMillis(5_000);
+
+        //when - action or the behaviour that we are going to test
+        long start = System.nanoTime();
+        Optional<Employee> employee = hedgedEmployeeReader.findById(1L);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        //then- verify the output
+        assertThat(employee).get().extracting(Employee::getEmail).isEqualTo("hedge_replica1@gmail.com");
+        assertThat(elapsedMillis).isLessThan(1_000);
+        assertThat(replica0.cancels()).isEqualTo(1);
+        assertThat(hedgedEmployeeReader.hedges()).isEqualTo(1);
+        assertThat(hedgedEmployeeReader.hedgeWins()).isEqualTo(1);
+    }
+
+    //    Junit test for a saturated read pool
+    @Test
+    @DisplayName("Junit test for a saturated read pool")
+    public void givenNoFreeThread_whenFirstReplicaIsSlow_thenHedgeIsSkipped() {
+
+        //given- precondition or setup
+        hedgedEmployeeReader.close();
+        long delay = Duration.ofMillis(HEDGE_DELAY_MILLIS).toNanos();
+        hedgedEmployeeReader = new HedgedEmployeeReader(() -> List.of(replica0, replica1),
+                new LatencyTracker(1024, 0.95, delay, delay), 1);
+        replica0.setDelayMillis(300);
+
+        //when - action or the behaviour that we are going to test
+        Optional<Employee> employee = hedgedEmployeeReader.findById(1L);
+
+        //then- verify the output
+        assertThat(employee).get().extracting(Employee::getEmail).isEqualTo("hedge_replica0@gmail.com");
+        assertThat(replica1.queries()).isZero();
+        assertThat(hedgedEmployeeReader.hedges()).isZero();
+        assertThat(hedgedEmployeeReader.skippedHedges()).isEqualTo(1);
+    }
+
+    //    Junit test for a failing first replica
+    @Test
+    @DisplayName("Junit test for a failing first replica")
+    public void givenFailingFirstReplica_whenFindById_thenSecondReplicaAnswers() {
+
+        //given- precondition or setup
+        replica0.setFailing(true);
+
+        //when - action or the behaviour that we are going to test
+        Optional<Employee> employee = hedgedEmployeeReader.findById(1L);
+
+        //then- verify the output
+        assertThat(employee).get().extracting(Employee::getEmail).isEqualTo("hedge_replica1@gmail.com");
+    }
+
+    //    Junit test for every replica failing
+    @Test
+    @DisplayName("Junit test for every replica failing")
+    public void givenAllReplicasFailing_whenFindById_thenThrowsException() {
+
+        //given- precondition or setup
+        replica0.setFailing(true);
+        replica1.setFailing(true);
+
+        //when - action or the behaviour that we are going to test
+
+        //then- verify the output
+        assertThatThrownBy(() -> hedgedEmployeeReader.findById(1L))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+    }
+
+    //    Junit test for an unknown id
+    @Test
+    @DisplayName("Junit test for an unknown id")
+    public void givenUnknownId_whenFindById_thenEmpty() {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        Optional<Employee> employee = hedgedEmployeeReader.findById(99L);
+
+        //then- verify the output
+        assertThat(employee).isEmpty();
+    }
+
+    private static DataSource database(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists employees (id bigint primary key, first_name varchar(255),"
+                    + " last_name varchar(255), email varchar(255), version bigint)");
+            statement.execute("delete from employees");
+            statement.execute("insert into employees values (1, 'Vaibhav', 'Maithani', '" + name + "@gmail.com', 0)");
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,95 @@
+package com.junit.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// delays every query by a configurable time; Statement.cancel ends the wait and fails the query,
+// like a driver aborting a query the server is still working on
+public class LatencyInjectingDataSource extends DelegatingDataSource {
+
+    private volatile long delayMillis;
+    private volatile boolean failing;
+    private final AtomicInteger queries = new AtomicInteger();
+    private final AtomicInteger cancels = new AtomicInteger();
+
+    public LatencyInjectingDataSource(DataSource target) {
+        super(target);
+    }
+
+    public void setDelayMillis(long delayMillis) {
+        this.delayMillis = delayMillis;
+    }
+
+    public void setFailing(boolean failing) {
+        this.failing = failing;
+    }
+
+    public int queries() {
+        return queries.get();
+    }
+
+    public int cancels() {
+        return cancels.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(method, connection, args);
+            if ("prepareStatement".equals(method.getName())) {
+                return slow((PreparedStatement) result);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement slow(PreparedStatement statement) {
+        CountDownLatch cancelled = new CountDownLatch(1);
+        return proxy(PreparedStatement.class, statement, (method, args) -> {
+            if ("cancel".equals(method.getName())) {
+                cancels.incrementAndGet();
+                cancelled.countDown();
+                return null;
+            }
+            if ("executeQuery".equals(method.getName())) {
+                queries.incrementAndGet();
+                if (failing) {
+                    throw new SQLException("replica unreachable");
+                }
+                if (cancelled.await(delayMillis, TimeUnit.MILLISECONDS)) {
+                    throw new SQLException("Query execution was interrupted", "70100");
+                }
+            }
+            return invoke(method, statement, args);
+        });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        return (T) Proxy.newProxyInstance(LatencyInjectingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> handler.handle(method, args));
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,63 @@
+package com.junit.datasource;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyTrackerTests {
+
+    //    Junit test for the initial delay before enough samples
+    @Test
+    @DisplayName("Junit test for the initial delay before enough samples")
+    public void givenFewSamples_whenPercentile_thenInitialDelay() {
+
+        //given- precondition or setup
+        LatencyTracker latencyTracker = new LatencyTracker(1024, 0.95, 20_000, 1_000);
+
+        //when - action or the behaviour that we are going to test
+        for (int i = 0; i < LatencyTracker.RECOMPUTE_EVERY - 1; i++) {
+            latencyTracker.record(500_000);
+        }
+
+        //then- verify the output
+        assertThat(latencyTracker.percentileNanos()).isEqualTo(20_000);
+    }
+
+    //    Junit test for the tracked percentile
+    @Test
+    @DisplayName("Junit test for the tracked percentile")
+    public void givenSamples_whenPercentile_thenNinetyFifthSample() {
+
+        //given- precondition or setup
+        LatencyTracker latencyTracker = new LatencyTracker(1024, 0.95, 20_000, 1_000);
+
+        //when - action or the behaviour that we are going to test
+        for (int i = 1; i <= 320; i++) {
+            latencyTracker.record(i * 1_000L);
+        }
+
+        //then- verify the output
+        assertThat(latencyTracker.percentileNanos()).isEqualTo(304_000);
+    }
+
+    //    Junit test for the sliding window and the floor
+    @Test
+    @DisplayName("Junit test for the sliding window and the floor")
+    public void givenOldSlowSamplesReplaced_whenPercentile_thenFloor() {
+
+        //given- precondition or setup
+        LatencyTracker latencyTracker = new LatencyTracker(64, 0.95, 20_000, 1_000);
+        for (int i = 0; i < 64; i++) {
+            latencyTracker.record(1_000_000);
+        }
+
+        //when - action or the behaviour that we are going to test
+        for (int i = 0; i < 64; i++) {
+            latencyTracker.record(10);
+        }
+
+        //then- verify the output
+        assertThat(latencyTracker.percentileNanos()).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,189 @@
+package com.junit.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// three independent in-memory H2 databases, each one knows its own name
+public class ReplicaRoutingDataSourceTests {
+
+    private DataSource primary;
+    private SwitchableDataSource replica0;
+    private SwitchableDataSource replica1;
+    private ReplicaRoutingDataSource routingDataSource;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        primary = database("primary");
+        replica0 = new SwitchableDataSource(database("replica0"));
+        replica1 = new SwitchableDataSource(database("replica1"));
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica0, replica1), Duration.ZERO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    //    Junit test for routing writes to the primary
+    @Test
+    @DisplayName("Junit test for routing writes to the primary")
+    public void givenNoReadOnlyTransaction_whenGetConnection_thenPrimary() throws SQLException {
+
+        //given- precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+        //when - action or the behaviour that we are going to test
+        String node;
+        try (Connection connection = routingDataSource.getConnection()) {
+            node = node(connection);
+        }
+
+        //then- verify the output
+        assertThat(node).isEqualTo("primary");
+    }
+
+    //    Junit test for routing reads to the least busy replica
+    @Test
+    @DisplayName("Junit test for routing reads to the least busy replica")
+    public void givenOneReplicaBusy_whenGetReadOnlyConnection_thenOtherReplica() throws SQLException {
+
+        //given- precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Connection held = routingDataSource.getConnection();
+        String busy = node(held);
+
+        //when - action or the behaviour that we are going to test
+        String first;
+        String second;
+        try (Connection connection = routingDataSource.getConnection()) {
+            first = node(connection);
+        }
+        try (Connection connection = routingDataSource.getConnection()) {
+            second = node(connection);
+        }
+        held.close();
+
+        //then- verify the output
+        assertThat(busy).startsWith("replica");
+        assertThat(first).startsWith("replica").isNotEqualTo(busy);
+        assertThat(second).isEqualTo(first);
+    }
+
+    //    Junit test for closed connections releasing their replica
+    @Test
+    @DisplayName("Junit test for closed connections releasing their replica")
+    public void givenConnectionsClosed_whenGetReadOnlyConnections_thenReplicasAlternate() throws SQLException {
+
+        //given- precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        //when - action or the behaviour that we are going to test
+        String first;
+        String second;
+        try (Connection connection = routingDataSource.getConnection()) {
+            first = node(connection);
+        }
+        try (Connection connection = routingDataSource.getConnection()) {
+            second = node(connection);
+        }
+
+        //then- verify the output
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica0", "replica1");
+    }
+
+    //    Junit test for skipping a replica that fails
+    @Test
+    @DisplayName("Junit test for skipping a replica that fails")
+    public void givenReplicaDown_whenGetReadOnlyConnection_thenHealthyReplicaUntilCheckPasses() throws SQLException {
+
+        //given- precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica0.down = true;
+
+        //when - action or the behaviour that we are going to test
+        for (int i = 0; i < 4; i++) {
+            try (Connection connection = routingDataSource.getConnection()) {
+                assertThat(node(connection)).isEqualTo("replica1");
+            }
+        }
+        int healthyWhileDown = routingDataSource.healthyReplicas();
+        replica0.down = false;
+        routingDataSource.checkReplicas();
+
+        //then- verify the output
+        assertThat(healthyWhileDown).isEqualTo(1);
+        assertThat(routingDataSource.healthyReplicas()).isEqualTo(2);
+    }
+
+    //    Junit test for falling back to the primary when no replica is healthy
+    @Test
+    @DisplayName("Junit test for falling back to the primary when no replica is healthy")
+    public void givenAllReplicasDown_whenGetReadOnlyConnection_thenPrimary() throws SQLException {
+
+        //given- precondition or setup
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica0.down = true;
+        replica1.down = true;
+        routingDataSource.checkReplicas();
+
+        //when - action or the behaviour that we are going to test
+        String node;
+        try (Connection connection = routingDataSource.getConnection()) {
+            node = node(connection);
+        }
+
+        //then- verify the output
+        assertThat(routingDataSource.healthyReplicas()).isZero();
+        assertThat(node).isEqualTo("primary");
+    }
+
+    private static DataSource database(String name) throws SQLException {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing_" + name + ";DB_CLOSE_DELAY=-1");
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("create table if not exists node(name varchar(32))");
+            statement.execute("delete from node");
+            statement.execute("insert into node values ('" + name + "')");
+        }
+        return dataSource;
+    }
+
+    private static String node(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("select name from node")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica unreachable");
+            }
+            return super.getConnection();
+        }
+    }
+}
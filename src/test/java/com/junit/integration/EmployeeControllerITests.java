@@ -1,7 +1,10 @@
 package com.junit.integration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.cache.EmployeeCache;
 import com.junit.exception.ResourceNotFoundException;
+import com.junit.metrics.RoundTripCounter;
+import com.junit.metrics.ServerTiming;
 import com.junit.model.Employee;
 import com.junit.repository.EmployeeRepository;
 import org.junit.jupiter.api.Assertions;
@@ -13,12 +16,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
-import org.springframework.web.util.NestedServletException;
 
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
@@ -27,7 +32,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -40,6 +47,10 @@ public class EmployeeControllerITests {
     private EmployeeRepository employeeRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeCache employeeCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @BeforeEach
     public void setup(){
@@ -104,6 +115,36 @@ public class EmployeeControllerITests {
                 .andExpect(jsonPath("$.size()", is(listOfEmployees.size())));
     }
 
+    //    Junit test for NDJSON export REST Api
+    @Test
+    @DisplayName(" Junit test for NDJSON export REST Api")
+    public void givenListOfEmployee_whenExportEmployees_thenStreamEveryEmployee() throws Exception {
+
+        //given- precondition or setup
+        Employee employee1 = Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        Employee employee2 = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        employeeRepository.saveAll(List.of(employee1, employee2));
+
+        //when - action or the behaviour that we are going to test
+        MvcResult started = mockMvc.perform(get("/api/employees/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //then- verify the output
+        Assertions.assertEquals(2, body.lines().count());
+    }
+
     //Positive Scenerio
     //    Junit test for GET employee by id REST API
     @Test
@@ -133,13 +174,38 @@ public class EmployeeControllerITests {
     }
 
 
+    //    Junit test for the Server-Timing header on GET employees REST API
+    @Test
+    @DisplayName(" Junit test for the Server-Timing header on GET employees REST API")
+    public void givenServerTimingRequested_whenGetAllEmployees_thenResponseCarriesBreakdown() throws Exception {
+
+        //given- precondition or setup
+        employeeRepository.save(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+
+        //when - action or the behaviour that we are going to test
+        ResultActions timed = mockMvc.perform(get("/api/employees").header(ServerTiming.REQUEST_HEADER, "1"));
+        ResultActions untimed = mockMvc.perform(get("/api/employees"));
+
+        //then- verify the output
+        timed.andExpect(status().isOk())
+                .andExpect(header().string(ServerTiming.HEADER, containsString("db;dur=")))
+                .andExpect(header().string(ServerTiming.HEADER, containsString("sql;desc=\"1 statements\"")))
+                .andExpect(header().string(ServerTiming.HEADER, containsString("service;dur=")))
+                .andExpect(header().string(ServerTiming.HEADER, containsString("json;dur=")));
+        untimed.andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ServerTiming.HEADER));
+    }
+
     //Negative Scenerio
     //    Junit test for GET employee by id REST API
     @Test
     @DisplayName(" Junit test for GET employee by id REST API negative scenario")
     public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturnEmpty() throws Exception {
 
-        Long employeeId = 1L;
         //given- precondition or setup
         Employee employee1 = Employee.builder()
                 .firstName("Vaibhav")
@@ -148,15 +214,15 @@ public class EmployeeControllerITests {
                 .build();
 
         employeeRepository.save(employee1);
+        Long employeeId = employee1.getId() + 1;
 
         //when - action or the behaviour that we are going to test
-        Assertions.assertThrows(Exception.class, () -> {
         ResultActions response = mockMvc.perform(get("/api/employees/{id}", employeeId));
-        response.andExpect(status().isInternalServerError())
-                .andDo(print());
-         });
 
         //then- verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print())
+                .andExpect(jsonPath("$.status", is(404)));
     }
 
     //    Positive Scenario
@@ -196,11 +262,80 @@ public class EmployeeControllerITests {
 
     }
 
+    //    Junit test for the update employee REST API round-trip budget
+    @Test
+    @DisplayName(" Junit test for update employee REST API round-trip budget")
+    public void givenUpdatedEmployee_whenUpdateEmployee_thenOneTransactionAndTwoStatements() throws Exception {
+
+        //given- precondition or setup
+        Employee savedEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+
+        Employee updatedEmployee = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        // the budget is for the cold path; a cached row would hide the select
+        employeeCache.invalidateAll();
+        entityManagerFactory.getCache().evictAll();
+
+        //when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(put("/api/employees/{id}", savedEmployee.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(updatedEmployee)))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        //then- verify the output
+        RoundTripCounter.Counts counts = (RoundTripCounter.Counts) result.getRequest()
+                .getAttribute(RoundTripCounter.REQUEST_ATTRIBUTE);
+        Assertions.assertEquals(1, counts.getTransactions());
+        // select by id, then an update of the changed columns
+        Assertions.assertEquals(2, counts.getStatements());
+    }
+
+    //    Junit test for the upsert employee by email REST API round-trip budget
+    @Test
+    @DisplayName(" Junit test for upsert employee by email REST API round-trip budget")
+    public void givenExistingEmail_whenUpsertEmployee_thenOneTransactionAndTwoStatements() throws Exception {
+
+        //given- precondition or setup
+        Employee savedEmployee = employeeRepository.save(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+
+        Employee changes = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .build();
+
+        //when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(put("/api/employees/by-email/{email}", savedEmployee.getEmail())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(savedEmployee.getId().intValue())))
+                .andExpect(jsonPath("$.firstName", is("Rahul")))
+                .andReturn();
+
+        //then- verify the output
+        RoundTripCounter.Counts counts = (RoundTripCounter.Counts) result.getRequest()
+                .getAttribute(RoundTripCounter.REQUEST_ATTRIBUTE);
+        Assertions.assertEquals(1, counts.getTransactions());
+        // the upsert itself, then the read-back select by email
+        Assertions.assertEquals(2, counts.getStatements());
+    }
+
     @Test
     @DisplayName(" Junit test for update employee REST API Negative Scenario")
     public void givenUpdatedEmployee_whenUpdateEmployee_thenReturn404() throws Exception {
 
-        Long employeeId = 1L;
         //given- precondition or setup
         Employee savedEmployee = Employee.builder()
                 .firstName("Vaibhav")
@@ -209,6 +344,7 @@ public class EmployeeControllerITests {
                 .build();
 
         employeeRepository.save(savedEmployee);
+        Long employeeId = savedEmployee.getId() + 1;
 
         Employee updatedEmployee = Employee.builder()
                 .firstName("Rahul")
@@ -219,14 +355,13 @@ public class EmployeeControllerITests {
 
 
         //when - action or the behaviour that we are going to test
-        Assertions.assertThrows(Exception.class, () -> {
-
         ResultActions response = mockMvc.perform(put("/api/employees/{id}", employeeId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(objectMapper.writeValueAsString(updatedEmployee)));
-        });
-        //then- verify the output
 
+        //then- verify the output
+        response.andExpect(status().isNotFound())
+                .andDo(print());
 
     }
 
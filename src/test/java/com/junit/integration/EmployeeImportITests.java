@@ -0,0 +1,75 @@
+package com.junit.integration;
+
+import com.junit.dto.ImportResult;
+import com.junit.dto.ImportRowError;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.EmployeeImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+public class EmployeeImportITests {
+
+    private static final int ROWS = 2500;
+
+    @Autowired
+    private EmployeeImportService employeeImportService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void setup(){
+        employeeRepository.deleteAll();
+        employeeRepository.save(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("existing@gmail.com")
+                .build());
+    }
+
+    //    Integration test for a CSV import spanning several chunks
+    @Test
+    @DisplayName("Integration test for a CSV import spanning several chunks")
+    public void givenCsvWithBadRows_whenImportCsv_thenValidRowsImportedAndErrorsReportedByLine() throws Exception {
+
+        //given- precondition or setup
+        StringBuilder csv = new StringBuilder("first_name,last_name,email\n");
+        for (int i = 1; i <= ROWS; i++) {
+            String email = "employee" + i + "@gmail.com";
+            if (i == 10) {
+                email = "existing@gmail.com";
+            } else if (i == 1500) {
+                // same email as row 20, which was committed with the first chunk
+                email = "employee20@gmail.com";
+            } else if (i == 2000) {
+                email = "not-an-email";
+            }
+            csv.append("First").append(i).append(",Last").append(i).append(',').append(email).append('\n');
+        }
+        csv.append("Missing,Columns\n");
+
+        //when - action or the behaviour that we are going to test
+        ImportResult result = employeeImportService.importCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        //then- verify the output
+        assertThat(result.getRowsRead()).isEqualTo(ROWS + 1);
+        assertThat(result.getImported()).isEqualTo(ROWS - 3);
+        assertThat(result.getFailed()).isEqualTo(4);
+        // the header is line 1, so row i is on line i + 1
+        assertThat(result.getErrors()).extracting(ImportRowError::getLine)
+                .containsExactly(11L, 1501L, 2001L, ROWS + 2L);
+        assertThat(employeeRepository.count()).isEqualTo(ROWS - 3 + 1);
+    }
+}
@@ -0,0 +1,274 @@
+package com.junit.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.cache.EmailBloomFilter;
+import com.junit.cache.EmployeeCache;
+import com.junit.dto.EmployeePatch;
+import com.junit.metrics.RoundTripCounter;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// pins the number of statements each EmployeeController endpoint sends; an extra query fails the build.
+// The counts are the ones RoundTripCounterFilter records per request, so JDBC batches are counted the way
+// production reports them. Caches are emptied before every request under test.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class EmployeeStatementCountITests {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeCache employeeCache;
+    @Autowired
+    private EmailBloomFilter emailBloomFilter;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Employee employee1;
+
+    @BeforeEach
+    public void setup(){
+        employeeRepository.deleteAll();
+        emailBloomFilter.rebuild();
+        employee1 = employeeRepository.save(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+        startCounting();
+    }
+
+    //    Statement count test for create employee REST API
+    @Test
+    @DisplayName(" Statement count test for create employee REST API")
+    public void givenNewEmployee_whenCreateEmployee_thenOneInsert() throws Exception {
+
+        //given- precondition or setup
+        Employee employee = employee("rahul.maithani1@gmail.com");
+
+        //when - action or the behaviour that we are going to test
+        long sequenceBefore = sequenceValue();
+        MvcResult result = mockMvc.perform(post("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        //then- verify the output
+        assertThat(statements(result) - sequenceCalls(sequenceBefore)).isEqualTo(1);
+    }
+
+    //    Statement count test for batch create employees REST API
+    @Test
+    @DisplayName(" Statement count test for batch create employees REST API")
+    public void givenNewEmployees_whenCreateEmployees_thenOneEmailCheckAndOneInsertBatch() throws Exception {
+
+        //given- precondition or setup
+        List<Employee> employees = List.of(employee("rahul.maithani1@gmail.com"), employee("amit.maithani1@gmail.com"));
+
+        //when - action or the behaviour that we are going to test
+        long sequenceBefore = sequenceValue();
+        MvcResult result = mockMvc.perform(post("/api/employees/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employees)))
+                .andExpect(status().isCreated())
+                .andReturn();
+
+        //then- verify the output
+        assertThat(statements(result) - sequenceCalls(sequenceBefore)).isEqualTo(2);
+    }
+
+    //    Statement count test for get all employees REST API
+    @Test
+    @DisplayName(" Statement count test for get all employees REST API")
+    public void givenEmployees_whenGetAllEmployees_thenOneSelect() throws Exception {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        int statements = statements(get("/api/employees"));
+
+        //then- verify the output
+        assertThat(statements).isEqualTo(1);
+    }
+
+    //    Statement count test for conditional get all employees REST API
+    @Test
+    @DisplayName(" Statement count test for conditional get all employees REST API")
+    public void givenCurrentETag_whenGetAllEmployees_thenOneVersionSelect() throws Exception {
+
+        //given- precondition or setup
+        String etag = mockMvc.perform(get("/api/employees")).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        startCounting();
+
+        //when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        //then- verify the output
+        assertThat(statements(result)).isEqualTo(1);
+    }
+
+    //    Statement count test for keyset page, sparse fieldset and multi-get REST APIs
+    @Test
+    @DisplayName(" Statement count test for keyset page, sparse fieldset and multi-get REST APIs")
+    public void givenEmployees_whenGetPageFieldsAndIds_thenOneSelectEach() throws Exception {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        int page = statements(get("/api/employees").param("limit", "10"));
+        startCounting();
+        int fields = statements(get("/api/employees").param("fields", "id,firstName"));
+        startCounting();
+        int ids = statements(get("/api/employees").param("ids", employee1.getId() + ",-1"));
+
+        //then- verify the output
+        assertThat(page).isEqualTo(1);
+        assertThat(fields).isEqualTo(1);
+        assertThat(ids).isEqualTo(1);
+    }
+
+    //    Statement count test for get employee by id REST API
+    @Test
+    @DisplayName(" Statement count test for get employee by id REST API")
+    public void givenEmployeeId_whenGetEmployeeByIdTwice_thenOneSelect() throws Exception {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        int first = statements(get("/api/employees/{id}", employee1.getId()));
+        int second = statements(get("/api/employees/{id}", employee1.getId()));
+
+        //then- verify the output
+        assertThat(first).isEqualTo(1);
+        assertThat(second).isZero();
+    }
+
+    //    Statement count test for conditional get employee by id REST API
+    @Test
+    @DisplayName(" Statement count test for conditional get employee by id REST API")
+    public void givenCurrentETag_whenGetEmployeeById_thenOneVersionSelect() throws Exception {
+
+        //given- precondition or setup
+        String etag = "\"" + employee1.getId() + "-" + employee1.getVersion() + "\"";
+
+        //when - action or the behaviour that we are going to test
+        MvcResult result = mockMvc.perform(get("/api/employees/{id}", employee1.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andReturn();
+
+        //then- verify the output
+        assertThat(statements(result)).isEqualTo(1);
+    }
+
+    //    Statement count test for update employee REST API
+    @Test
+    @DisplayName(" Statement count test for update employee REST API")
+    public void givenEmployeeChanges_whenUpdateEmployee_thenOneSelectAndOneUpdate() throws Exception {
+
+        //given- precondition or setup
+        Employee changes = employee("rahul.maithani1@gmail.com");
+
+        //when - action or the behaviour that we are going to test
+        int statements = statements(put("/api/employees/{id}", employee1.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(changes)));
+
+        //then- verify the output
+        assertThat(statements).isEqualTo(2);
+    }
+
+    //    Statement count test for patch employee REST API
+    @Test
+    @DisplayName(" Statement count test for patch employee REST API")
+    public void givenEmployeePatch_whenPatchEmployee_thenOneSelectAndOneUpdate() throws Exception {
+
+        //given- precondition or setup
+        EmployeePatch patch = EmployeePatch.builder().firstName("Rahul").build();
+
+        //when - action or the behaviour that we are going to test
+        int statements = statements(patch("/api/employees/{id}", employee1.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(patch)));
+
+        //then- verify the output
+        assertThat(statements).isEqualTo(2);
+    }
+
+    //    Statement count test for delete employee REST API
+    @Test
+    @DisplayName(" Statement count test for delete employee REST API")
+    public void givenEmployeeId_whenDeleteEmployee_thenOneSelectAndOneDelete() throws Exception {
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        int statements = statements(delete("/api/employees/{id}", employee1.getId()));
+
+        //then- verify the output
+        // the select is skipped when the row is in the second-level cache; caches are cold here
+        assertThat(statements).isEqualTo(2);
+    }
+
+    private void startCounting() {
+        employeeCache.invalidateAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    private int statements(RequestBuilder request) throws Exception {
+        return statements(mockMvc.perform(request).andExpect(status().is2xxSuccessful()).andReturn());
+    }
+
+    private static int statements(MvcResult result) {
+        return ((RoundTripCounter.Counts) result.getRequest().getAttribute(RoundTripCounter.REQUEST_ATTRIBUTE))
+                .getStatements();
+    }
+
+    // the pooled id generator only reaches the sequence once per allocation block, so whether a create
+    // pays for it depends on the ids handed out before; those calls are taken out of the count
+    private int sequenceCalls(long sequenceBefore) {
+        return (int) ((sequenceValue() - sequenceBefore) / Employee.ID_ALLOCATION_SIZE);
+    }
+
+    private long sequenceValue() {
+        return jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = 'employee_seq'", Long.class);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email(email)
+                .build();
+    }
+}
@@ -0,0 +1,104 @@
+package com.junit.integration;
+
+import com.junit.cache.EmployeeCache;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the primary and two replicas are separate in-memory H2 databases that never replicate,
+// so the rows a read returns show which database served it
+@SpringBootTest(properties = {
+        "employee.datasource.replica-urls=" + ReplicaRoutingITests.REPLICA_0 + "," + ReplicaRoutingITests.REPLICA_1,
+        "employee.datasource.replica-health-check-interval=0s"
+})
+@ActiveProfiles("h2")
+public class ReplicaRoutingITests {
+
+    private static final String REPLICA_OPTIONS =
+            ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema-reactive.sql'";
+    static final String REPLICA_0 = "jdbc:h2:mem:replica0" + REPLICA_OPTIONS;
+    static final String REPLICA_1 = "jdbc:h2:mem:replica1" + REPLICA_OPTIONS;
+
+    @Autowired
+    private EmployeeService employeeService;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private EmployeeCache employeeCache;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        employeeRepository.deleteAll();
+        employeeCache.invalidateAll();
+        seed(REPLICA_0, "replica0@gmail.com");
+        seed(REPLICA_1, "replica1@gmail.com");
+    }
+
+    //    Integration test for reads served by the replicas
+    @Test
+    @DisplayName("Integration test for reads served by the replicas")
+    public void givenReplicas_whenGetAllEmployees_thenReadsSpreadOverReplicas() {
+
+        //given- precondition or setup
+        Employee saved = employeeService.saveEmployee(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+
+        //when - action or the behaviour that we are going to test
+        Set<String> servedBy = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            employeeService.getAllEmployees().forEach(employee -> servedBy.add(employee.getEmail()));
+        }
+
+        //then- verify the output
+        assertThat(servedBy).containsExactlyInAnyOrder("replica0@gmail.com", "replica1@gmail.com");
+        assertThat(employeeRepository.existsByEmail(saved.getEmail())).isTrue();
+    }
+
+    //    Integration test for repository finders served by a replica
+    @Test
+    @DisplayName("Integration test for repository finders served by a replica")
+    public void givenEmployeeOnlyOnPrimary_whenFindByEmail_thenNotFoundOnReplica() {
+
+        //given- precondition or setup
+        Employee saved = employeeService.saveEmployee(Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build());
+
+        //when - action or the behaviour that we are going to test
+        boolean onPrimary = employeeRepository.existsByEmail(saved.getEmail());
+        boolean onReplica = employeeRepository.findByEmail(saved.getEmail()).isPresent();
+
+        //then- verify the output
+        assertThat(onPrimary).isTrue();
+        assertThat(onReplica).isFalse();
+    }
+
+    private static void seed(String url, String email) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("delete from employees");
+            statement.execute("insert into employees (id, first_name, last_name, email, version) values "
+                    + "(1, 'Replica', 'Row', '" + email + "', 0)");
+        }
+    }
+}
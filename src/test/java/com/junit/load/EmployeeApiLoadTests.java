@@ -0,0 +1,52 @@
+package com.junit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// excluded from the default build, run with: mvn -Pload-test test
+@Tag("load")
+@ActiveProfiles("h2")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class EmployeeApiLoadTests {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName(" Load test for the employee REST API against the stored latency baseline")
+    public void givenMixedWorkload_whenDrivenConcurrently_thenLatencyWithinBaseline() throws Exception {
+
+        //given- precondition or setup
+        LoadDriver driver = new LoadDriver(URI.create("http://localhost:" + port),
+                LoadSettings.fromSystemProperties(), objectMapper);
+        Properties baseline = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/load-baseline.properties")) {
+            baseline.load(in);
+        }
+
+        //when - action or the behaviour that we are going to test
+        LoadReport report = driver.run();
+
+        //then- verify the output
+        report.print(System.out);
+        report.writeHistograms(Paths.get("target", "load-test"));
+        List<String> regressions = report.regressionsAgainst(baseline);
+        assertThat(regressions).as("latency regressions against load-baseline.properties").isEmpty();
+    }
+}
@@ -0,0 +1,197 @@
+package com.junit.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.load.LoadMix.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// drives the employee REST API from a pool of clients and records per-operation latency in microseconds
+public class LoadDriver {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final URI baseUri;
+    private final LoadSettings settings;
+    private final ExecutorService httpExecutor;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    // ids the clients read, update and delete; 0 marks a free slot
+    private final AtomicLongArray ids;
+    private final AtomicLong emailSequence = new AtomicLong();
+    private final String runId = Long.toHexString(System.nanoTime());
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+    private volatile boolean running;
+
+    public LoadDriver(URI baseUri, LoadSettings settings, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.objectMapper = objectMapper;
+        this.httpExecutor = Executors.newFixedThreadPool(Math.max(4, settings.getClients() / 4));
+        this.httpClient = HttpClient.newBuilder()
+                .executor(httpExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.ids = new AtomicLongArray(settings.getIdPoolSize());
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public LoadReport run() throws Exception {
+        seed();
+        running = true;
+        ExecutorService clients = Executors.newFixedThreadPool(settings.getClients());
+        try {
+            for (int i = 0; i < settings.getClients(); i++) {
+                clients.execute(this::clientLoop);
+            }
+            Thread.sleep(settings.getWarmup().toMillis());
+            // warm-up samples are dropped so JIT and pool start-up do not skew the tail
+            for (Recorder recorder : recorders.values()) {
+                recorder.getIntervalHistogram();
+            }
+            errors.values().forEach(LongAdder::reset);
+            long start = System.nanoTime();
+            Thread.sleep(settings.getDuration().toMillis());
+            Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+            for (Map.Entry<Operation, Recorder> entry : recorders.entrySet()) {
+                histograms.put(entry.getKey(), entry.getValue().getIntervalHistogram());
+            }
+            long elapsed = System.nanoTime() - start;
+            Map<Operation, Long> errorCounts = new EnumMap<>(Operation.class);
+            errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+            return new LoadReport(histograms, errorCounts, Duration.ofNanos(elapsed));
+        } finally {
+            running = false;
+            clients.shutdown();
+            clients.awaitTermination(30, TimeUnit.SECONDS);
+            httpExecutor.shutdown();
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < ids.length(); i++) {
+            ids.set(i, create());
+        }
+    }
+
+    private void clientLoop() {
+        // with a target rate each client follows a fixed schedule and latency is measured from the
+        // intended start, so a stalled server shows up in the percentiles instead of being omitted
+        long interval = settings.getTargetRate() > 0
+                ? TimeUnit.SECONDS.toNanos(settings.getClients()) / settings.getTargetRate()
+                : 0;
+        long next = System.nanoTime();
+        while (running) {
+            Operation operation = settings.getMix().next();
+            long start = System.nanoTime();
+            if (interval > 0) {
+                long wait = next - start;
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                start = next;
+                next += interval;
+            }
+            boolean ok;
+            try {
+                ok = execute(operation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                ok = false;
+            }
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            recorders.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+            if (!ok) {
+                errors.get(operation).increment();
+            }
+        }
+    }
+
+    private boolean execute(Operation operation) throws IOException, InterruptedException {
+        switch (operation) {
+            case CREATE:
+                ids.set(randomSlot(), create());
+                return true;
+            case GET:
+                return found(send(HttpRequest.newBuilder(employeeUri(pickId())).GET()));
+            case LIST:
+                return send(HttpRequest.newBuilder(baseUri.resolve("/api/employees?limit=100")).GET()) == 200;
+            case UPDATE:
+                return found(send(HttpRequest.newBuilder(employeeUri(pickId()))
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(employeeJson()))));
+            case DELETE:
+                int slot = randomSlot();
+                long id = ids.getAndSet(slot, 0L);
+                if (id == 0L) {
+                    id = pickId();
+                }
+                return found(send(HttpRequest.newBuilder(employeeUri(id)).DELETE()));
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    private long create() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(HttpRequest.newBuilder(baseUri.resolve("/api/employees"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(employeeJson()))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new IOException("Create returned " + response.statusCode());
+        }
+        JsonNode employee = objectMapper.readTree(response.body());
+        return employee.get("id").asLong();
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return httpClient.send(request.timeout(Duration.ofSeconds(30)).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    // another client may have deleted the row in between, so a 404 is an expected outcome
+    private static boolean found(int status) {
+        return status < 300 || status == 404;
+    }
+
+    private long pickId() {
+        long id = ids.get(randomSlot());
+        return id == 0L ? ids.get(0) : id;
+    }
+
+    private int randomSlot() {
+        return ThreadLocalRandom.current().nextInt(ids.length());
+    }
+
+    private URI employeeUri(long id) {
+        return baseUri.resolve("/api/employees/" + id);
+    }
+
+    private String employeeJson() {
+        return "{\"firstName\":\"Load\",\"lastName\":\"Client\",\"email\":\"load-" + runId + "-"
+                + emailSequence.incrementAndGet() + "@example.com\"}";
+    }
+}
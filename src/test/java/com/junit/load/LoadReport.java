@@ -0,0 +1,101 @@
+package com.junit.load;
+
+import com.junit.load.LoadMix.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+public class LoadReport {
+
+    private final Map<Operation, Histogram> histograms;
+    private final Map<Operation, Long> errors;
+    private final Duration elapsed;
+
+    LoadReport(Map<Operation, Histogram> histograms, Map<Operation, Long> errors, Duration elapsed) {
+        this.histograms = histograms;
+        this.errors = errors;
+        this.elapsed = elapsed;
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsed.toNanos() / 1e9;
+        out.printf(Locale.ROOT, "%-8s %10s %10s %10s %10s %10s %8s%n",
+                "op", "count", "req/s", "p50 ms", "p99 ms", "p999 ms", "errors");
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-8s %10d %10.1f %10.2f %10.2f %10.2f %8d%n",
+                    key(entry.getKey()),
+                    histogram.getTotalCount(),
+                    histogram.getTotalCount() / seconds,
+                    millis(histogram, 50.0),
+                    millis(histogram, 99.0),
+                    millis(histogram, 99.9),
+                    errors.get(entry.getKey()));
+        }
+    }
+
+    // one .hgrm file per operation, loadable in the HdrHistogram plotter
+    public void writeHistograms(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream out = new PrintStream(
+                    Files.newOutputStream(directory.resolve(key(entry.getKey()) + ".hgrm")))) {
+                entry.getValue().outputPercentileDistribution(out, 1000.0);
+            }
+        }
+    }
+
+    // compares p50/p99 and error rate with the stored baseline; operations without a baseline are skipped
+    public List<String> regressionsAgainst(Properties baseline) {
+        double tolerance = Double.parseDouble(baseline.getProperty("load.tolerance", "0.2"));
+        double maxErrorRate = Double.parseDouble(baseline.getProperty("load.max-error-rate", "0.01"));
+        List<String> regressions = new ArrayList<>();
+        for (Map.Entry<Operation, Histogram> entry : histograms.entrySet()) {
+            String op = key(entry.getKey());
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            check(regressions, baseline, op, "p50", millis(histogram, 50.0), tolerance);
+            check(regressions, baseline, op, "p99", millis(histogram, 99.0), tolerance);
+            double errorRate = (double) errors.get(entry.getKey()) / histogram.getTotalCount();
+            if (errorRate > maxErrorRate) {
+                regressions.add(String.format(Locale.ROOT, "%s error rate %.4f exceeds %.4f", op, errorRate, maxErrorRate));
+            }
+        }
+        return regressions;
+    }
+
+    private static void check(List<String> regressions, Properties baseline, String op, String percentile,
+                              double measured, double tolerance) {
+        String limit = baseline.getProperty(op + "." + percentile + ".ms");
+        if (limit == null) {
+            return;
+        }
+        double allowed = Double.parseDouble(limit) * (1 + tolerance);
+        if (measured > allowed) {
+            regressions.add(String.format(Locale.ROOT, "%s %s %.2f ms exceeds baseline %s ms (+%.0f%%)",
+                    op, percentile, measured, limit, tolerance * 100));
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static String key(Operation operation) {
+        return operation.name().toLowerCase(Locale.ROOT);
+    }
+}
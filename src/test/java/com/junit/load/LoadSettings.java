@@ -0,0 +1,41 @@
+package com.junit.load;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+// read from -Dload.* system properties so one run can be resized without code changes
+@Getter
+public class LoadSettings {
+
+    private final int clients;
+    private final Duration warmup;
+    private final Duration duration;
+    // requests per second across all clients, 0 runs every client closed-loop as fast as it can
+    private final int targetRate;
+    private final int idPoolSize;
+    private final LoadMix mix;
+
+    private LoadSettings(int clients, Duration warmup, Duration duration, int targetRate, int idPoolSize, LoadMix mix) {
+        this.clients = clients;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.targetRate = targetRate;
+        this.idPoolSize = idPoolSize;
+        this.mix = mix;
+    }
+
+    public static LoadSettings fromSystemProperties() {
+        return fromSystemProperties(32);
+    }
+
+    public static LoadSettings fromSystemProperties(int defaultClients) {
+        return new LoadSettings(
+                Integer.getInteger("load.clients", defaultClients),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Integer.getInteger("load.rate", 0),
+                Integer.getInteger("load.ids", 500),
+                LoadMix.parse(System.getProperty("load.mix", "create=10,get=50,list=20,update=15,delete=5")));
+    }
+}
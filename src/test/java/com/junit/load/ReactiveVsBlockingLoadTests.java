@@ -0,0 +1,63 @@
+package com.junit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.SpringBootTestingApplication;
+import com.junit.reactive.ReactiveEmployeeApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.util.Properties;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// runs the same mix against the servlet/JPA and the WebFlux/R2DBC variants, both on H2, and prints the reports
+// side by side; excluded from the default build, run with: mvn -Pload-test test -Dload.clients=512
+@Tag("load")
+public class ReactiveVsBlockingLoadTests {
+
+    private static final int DEFAULT_CLIENTS = 256;
+
+    @Test
+    @DisplayName(" Load test comparing the blocking and reactive employee APIs at high concurrency")
+    public void givenSameWorkload_whenDrivenAgainstBothStacks_thenBothServeWithoutErrors() throws Exception {
+
+        //given- precondition or setup
+        LoadSettings settings = LoadSettings.fromSystemProperties(DEFAULT_CLIENTS);
+        ObjectMapper objectMapper = new ObjectMapper();
+        Properties errorBudget = new Properties();
+        errorBudget.setProperty("load.max-error-rate", "0.01");
+
+        //when - action or the behaviour that we are going to test
+        LoadReport blocking;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootTestingApplication.class)
+                .profiles("h2")
+                .properties("server.port=0")
+                .run()) {
+            blocking = new LoadDriver(baseUri(context), settings, objectMapper).run();
+        }
+        LoadReport reactive;
+        try (ConfigurableApplicationContext context = ReactiveEmployeeApplication.builder()
+                .properties("server.port=0")
+                .run()) {
+            reactive = new LoadDriver(baseUri(context), settings, objectMapper).run();
+        }
+
+        //then- verify the output
+        System.out.println("blocking (Tomcat + JDBC), " + settings.getClients() + " clients");
+        blocking.print(System.out);
+        System.out.println("reactive (Netty + R2DBC), " + settings.getClients() + " clients");
+        reactive.print(System.out);
+        assertThat(blocking.regressionsAgainst(errorBudget)).isEmpty();
+        assertThat(reactive.regressionsAgainst(errorBudget)).isEmpty();
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext context) {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return URI.create("http://localhost:" + port);
+    }
+}
@@ -0,0 +1,46 @@
+package com.junit.metrics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RoundTripCounterTests {
+
+    @AfterEach
+    public void tearDown() {
+        RoundTripCounter.clear();
+    }
+
+    //    Junit test for statements issued while a request is counted
+    @Test
+    @DisplayName("Junit test for statements issued while a request is counted")
+    public void givenStartedCounts_whenStatementsAndTransactions_thenCounted() {
+
+        //given- precondition or setup
+        RoundTripCounter.Counts counts = RoundTripCounter.start();
+
+        //when - action or the behaviour that we are going to test
+        RoundTripCounter.transactionStarted();
+        RoundTripCounter.statementExecuted();
+        RoundTripCounter.statementExecuted();
+
+        //then- verify the output
+        assertThat(counts.getTransactions()).isEqualTo(1);
+        assertThat(counts.getStatements()).isEqualTo(2);
+    }
+
+    //    Junit test for statements issued outside a request
+    @Test
+    @DisplayName("Junit test for statements issued outside a request")
+    public void givenNoStartedCounts_whenStatementsAndTransactions_thenNothingRecorded() {
+
+        //when - action or the behaviour that we are going to test
+        RoundTripCounter.transactionStarted();
+        RoundTripCounter.statementExecuted();
+
+        //then- verify the output
+        assertThat(RoundTripCounter.current()).isNull();
+    }
+}
@@ -0,0 +1,81 @@
+package com.junit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TimedMethodInterceptorTests {
+
+    public interface Lookup {
+        String find(Long id);
+
+        String find(String email);
+    }
+
+    private SimpleMeterRegistry registry;
+    private Lookup lookup;
+
+    @BeforeEach
+    public void setup(){
+        registry = new SimpleMeterRegistry();
+        Lookup target = new Lookup() {
+            @Override
+            public String find(Long id) {
+                if (id < 0) {
+                    throw new IllegalArgumentException("negative id");
+                }
+                return "employee-" + id;
+            }
+
+            @Override
+            public String find(String email) {
+                return email;
+            }
+        };
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvisor(new DefaultPointcutAdvisor(new TypeMethodsPointcut(Lookup.class),
+                new TimedMethodInterceptor(() -> registry, "employee.repository", "repository")));
+        lookup = (Lookup) proxyFactory.getProxy();
+    }
+
+    //    Junit test for one timer per method, reused across calls
+    @Test
+    @DisplayName("Junit test for one timer per method, reused across calls")
+    public void givenRepeatedCalls_whenIntercepted_thenRecordedOnOneTimerPerMethod(){
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        lookup.find(1L);
+        lookup.find(2L);
+        lookup.find("vaibhav.maithani1@gmail.com");
+
+        //then- verify the output
+        Timer byId = registry.get("employee.repository").tag("method", "find(Long)").timer();
+        Timer byEmail = registry.get("employee.repository").tag("method", "find(String)").timer();
+        assertThat(byId.count()).isEqualTo(2);
+        assertThat(byEmail.count()).isEqualTo(1);
+        assertThat(registry.get("employee.repository").timers()).hasSize(2);
+    }
+
+    //    Junit test for failed calls being timed
+    @Test
+    @DisplayName("Junit test for failed calls being timed")
+    public void givenFailingCall_whenIntercepted_thenStillRecorded(){
+
+        //given- precondition or setup
+
+        //when - action or the behaviour that we are going to test
+        Assertions.assertThrows(IllegalArgumentException.class, () -> lookup.find(-1L));
+
+        //then- verify the output
+        assertThat(registry.get("employee.repository").tag("method", "find(Long)").timer().count()).isEqualTo(1);
+    }
+}
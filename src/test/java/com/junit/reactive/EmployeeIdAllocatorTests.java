@@ -0,0 +1,53 @@
+package com.junit.reactive;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EmployeeIdAllocatorTests {
+
+    //    Junit test for pooled id blocks
+    @Test
+    @DisplayName("Junit test for pooled id blocks")
+    public void givenSequenceValues_whenNextId_thenIdsComeFromBlockEndingAtEachValue() {
+
+        //given- precondition or setup
+        AtomicLong sequence = new AtomicLong(100);
+        AtomicLong fetches = new AtomicLong();
+        EmployeeIdAllocator allocator = new EmployeeIdAllocator(() -> {
+            fetches.incrementAndGet();
+            return Mono.just(sequence.getAndAdd(5));
+        }, 5);
+
+        //when - action or the behaviour that we are going to test
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            ids.add(allocator.nextId().block());
+        }
+
+        //then- verify the output
+        assertThat(ids).containsExactly(96L, 97L, 98L, 99L, 100L, 101L, 102L);
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    //    Junit test for the first sequence value
+    @Test
+    @DisplayName("Junit test for the first sequence value")
+    public void givenFreshSequence_whenNextId_thenIdsStayPositive() {
+
+        //given- precondition or setup
+        EmployeeIdAllocator allocator = new EmployeeIdAllocator(() -> Mono.just(1L), 50);
+
+        //when - action or the behaviour that we are going to test
+        Long id = allocator.nextId().block();
+
+        //then- verify the output
+        assertThat(id).isEqualTo(1L);
+    }
+}
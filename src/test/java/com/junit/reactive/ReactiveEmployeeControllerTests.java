@@ -0,0 +1,112 @@
+package com.junit.reactive;
+
+import com.junit.exception.ResourceAlreadyExistsException;
+import com.junit.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+@WebFluxTest(controllers = ReactiveEmployeeController.class)
+@ActiveProfiles("reactive")
+public class ReactiveEmployeeControllerTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+    @MockBean
+    private ReactiveEmployeeService employeeService;
+
+    //    Junit test for create employee reactive REST API
+    @Test
+    @DisplayName(" Junit test for create employee reactive REST API")
+    public void givenEmployeeObject_whenCreateEmployee_thenReturnSavedEmployee() {
+
+        //given- precondition or setup
+        ReactiveEmployee employee = ReactiveEmployee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email("vaibhav.maithani1@gmail.com")
+                .build();
+        given(employeeService.saveEmployee(any(ReactiveEmployee.class)))
+                .willAnswer(invocation -> Mono.just(((ReactiveEmployee) invocation.getArgument(0)).toBuilder().id(1L).version(0L).build()));
+
+        //when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employee)
+                .exchange();
+
+        //then- verify the output
+        response.expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.email").isEqualTo(employee.getEmail());
+    }
+
+    //    Junit test for create employee reactive REST API with a duplicate email
+    @Test
+    @DisplayName(" Junit test for create employee reactive REST API with a duplicate email")
+    public void givenExistingEmail_whenCreateEmployee_thenReturn409() {
+
+        //given- precondition or setup
+        given(employeeService.saveEmployee(any(ReactiveEmployee.class)))
+                .willReturn(Mono.error(new ResourceAlreadyExistsException("Employee already exit with given email: vaibhav.maithani1@gmail.com")));
+
+        //when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.post().uri("/api/employees")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ReactiveEmployee.builder().email("vaibhav.maithani1@gmail.com").build())
+                .exchange();
+
+        //then- verify the output
+        response.expectStatus().isEqualTo(409);
+    }
+
+    //    Junit test for streaming get all employees reactive REST API
+    @Test
+    @DisplayName(" Junit test for streaming get all employees reactive REST API")
+    public void givenEmployees_whenGetAllEmployeesAsNdjson_thenStreamOneLinePerEmployee() {
+
+        //given- precondition or setup
+        given(employeeService.getAllEmployees()).willReturn(Flux.just(
+                ReactiveEmployee.builder().id(1L).firstName("Vaibhav").build(),
+                ReactiveEmployee.builder().id(2L).firstName("Rahul").build()));
+
+        //when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange();
+
+        //then- verify the output
+        response.expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ReactiveEmployee.class).hasSize(2);
+    }
+
+    //    Junit test for get employee by id reactive REST API with an unknown id
+    @Test
+    @DisplayName(" Junit test for get employee by id reactive REST API with an unknown id")
+    public void givenInvalidEmployeeId_whenGetEmployeeById_thenReturn404() {
+
+        //given- precondition or setup
+        given(employeeService.getEmployeeById(1L))
+                .willReturn(Mono.error(new ResourceNotFoundException("Employee not found with given id: 1")));
+
+        //when - action or the behaviour that we are going to test
+        WebTestClient.ResponseSpec response = webTestClient.get().uri("/api/employees/{id}", 1L).exchange();
+
+        //then- verify the output
+        response.expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Employee not found");
+    }
+}
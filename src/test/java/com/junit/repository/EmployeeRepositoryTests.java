@@ -1,23 +1,46 @@
 package com.junit.repository;
 
+import com.junit.dto.EmployeeField;
 import com.junit.model.Employee;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.Cache;
+import javax.persistence.EntityManagerFactory;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+// the h2 profile supplies the H2 dialect; the embedded replacement would keep the MySQL one from application.properties
 @DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 public class EmployeeRepositoryTests {
 
     @Autowired
     private EmployeeRepository employeeRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
     private Employee employee1;
 
@@ -32,6 +55,12 @@ public class EmployeeRepositoryTests {
 
     }
 
+    // only the second-level cache tests commit; everywhere else this is rolled back with the test
+    @AfterEach
+    public void tearDown(){
+        employeeRepository.deleteAll();
+    }
+
     // Junit test for save employee operation
     @Test
     @DisplayName("Junit test for save employee operation")
@@ -205,7 +234,132 @@ public class EmployeeRepositoryTests {
 
     }
 
+    //    Junit test for keyset page query
+    @Test
+    @DisplayName("Junit test for keyset page query")
+    public void givenEmployeeList_whenFindByIdGreaterThan_thenReturnNextRowsInIdOrder() {
+
+        //given- precondition or setup
+        Employee employee2 = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        employeeRepository.save(employee2);
+
+        //when - action or the behaviour that we are going to test
+        List<Employee> page = employeeRepository.findByIdGreaterThanOrderByIdAsc(employee1.getId(), PageRequest.of(0, 10));
+
+        //then- verify the output
+        assertThat(page).extracting(Employee::getId).containsExactly(employee2.getId());
+    }
+
+    //    Junit test for sparse fieldset query
+    @Test
+    @DisplayName("Junit test for sparse fieldset query")
+    public void givenFields_whenFindAllFields_thenReturnOnlyRequestedColumns() {
+
+        //given- precondition or setup
+        List<EmployeeField> fields = List.of(EmployeeField.ID, EmployeeField.FIRST_NAME);
+
+        //when - action or the behaviour that we are going to test
+        List<Map<String, Object>> rows = employeeRepository.findAllFields(fields);
+
+        //then- verify the output
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0)).containsOnlyKeys("id", "firstName");
+        assertThat(rows.get(0).get("id")).isEqualTo(employee1.getId());
+        assertThat(rows.get(0).get("firstName")).isEqualTo("Vaibhav");
+    }
+
+    //    Junit test for query cache invalidation on update
+    @Test
+    @DisplayName("Junit test for query cache invalidation on update")
+    public void givenCachedFinderResult_whenEmployeeUpdated_thenFinderSeesChange() {
+
+        //given- precondition or setup
+        assertThat(employeeRepository.findByNativeSQL("Vaibhav", "Maithani")).isNotNull();
+        employee1.setFirstName("Rahul");
+        employeeRepository.saveAndFlush(employee1);
+
+        //when - action or the behaviour that we are going to test
+        Employee staleEmployee = employeeRepository.findByNativeSQL("Vaibhav", "Maithani");
+        Employee updatedEmployee = employeeRepository.findByJPQL("Rahul", "Maithani");
+
+        //then- verify the output
+        assertThat(staleEmployee).isNull();
+        assertThat(updatedEmployee.getId()).isEqualTo(employee1.getId());
+    }
+
+    //    Junit test for the export stream bypassing the second-level cache
+    //    runs without the test transaction: rows inserted in the open transaction never reach the cache anyway
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Junit test for the export stream bypassing the second-level cache")
+    public void givenEmptySecondLevelCache_whenStreamAll_thenRowsAreNotCached() {
+
+        //given- precondition or setup
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+
+        //when - action or the behaviour that we are going to test
+        Long streamed = new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<Employee> employees = employeeRepository.streamAll()) {
+                return employees.count();
+            }
+        });
+
+        //then- verify the output
+        assertThat(streamed).isEqualTo(1);
+        assertThat(cache.contains(Employee.class, employee1.getId())).isFalse();
+    }
+
+    //    Junit test for delete by id keeping other employees in the second-level cache
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @DisplayName("Junit test for delete by id keeping other employees in the second-level cache")
+    public void givenCachedEmployees_whenDeleteEmployeeById_thenOnlyThatEmployeeIsEvicted() {
+
+        //given- precondition or setup
+        Employee employee2 = employeeRepository.save(Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build());
+        Cache cache = entityManagerFactory.getCache();
+        cache.evictAll();
+        employeeRepository.findById(employee1.getId());
+        employeeRepository.findById(employee2.getId());
+
+        //when - action or the behaviour that we are going to test
+        int removed = employeeRepository.deleteEmployeeById(employee2.getId());
+        int removedAgain = employeeRepository.deleteEmployeeById(-1L);
+
+        //then- verify the output
+        assertThat(removed).isEqualTo(1);
+        assertThat(removedAgain).isZero();
+        assertThat(employeeRepository.findById(employee2.getId())).isEmpty();
+        assertThat(cache.contains(Employee.class, employee1.getId())).isTrue();
+    }
+
+    //    Junit test for loading a row inserted without a version
+    @Test
+    @DisplayName("Junit test for loading a row inserted without a version")
+    public void givenRowInsertedWithoutVersion_whenFindById_thenVersionIsZero() {
 
+        //given- precondition or setup
+        entityManager.getEntityManager()
+                .createNativeQuery("insert into employees (id, first_name, last_name, email) "
+                        + "values (-1, 'Rahul', 'Maithani', 'rahul.maithani1@gmail.com')")
+                .executeUpdate();
+        entityManager.clear();
 
+        //when - action or the behaviour that we are going to test
+        Optional<Employee> employee = employeeRepository.findById(-1L);
+
+        //then- verify the output
+        assertThat(employee).isPresent();
+        assertThat(employee.get().getVersion()).isEqualTo(0L);
+    }
 
 }
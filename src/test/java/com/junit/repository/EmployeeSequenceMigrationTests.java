@@ -0,0 +1,59 @@
+package com.junit.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the generator table as Hibernate creates it on MySQL, next to rows inserted while ids were AUTO_INCREMENT
+public class EmployeeSequenceMigrationTests {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:sequence_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists employees");
+        jdbcTemplate.execute("drop table if exists employee_seq");
+        jdbcTemplate.execute("create table employees (id bigint primary key auto_increment, email varchar(255))");
+        jdbcTemplate.execute("create table employee_seq (next_val bigint)");
+        jdbcTemplate.update("insert into employee_seq values (1)");
+    }
+
+    //    Junit test for seeding the generator above existing ids
+    @Test
+    @DisplayName("Junit test for seeding the generator above existing ids")
+    public void givenAutoIncrementRows_whenMigrate_thenNextValClearsMaxIdByOneBlock() throws Exception {
+
+        //given- precondition or setup
+        jdbcTemplate.update("insert into employees (id, email) values (7, 'a@gmail.com'), (120, 'b@gmail.com')");
+
+        //when - action or the behaviour that we are going to test
+        new EmployeeSequenceMigration(dataSource).afterPropertiesSet();
+
+        //then- verify the output
+        assertThat(jdbcTemplate.queryForObject("select next_val from employee_seq", Long.class)).isEqualTo(170L);
+    }
+
+    //    Junit test for running the migration again
+    @Test
+    @DisplayName("Junit test for running the migration again")
+    public void givenGeneratorAlreadyAhead_whenMigrate_thenNextValUnchanged() throws Exception {
+
+        //given- precondition or setup
+        jdbcTemplate.update("insert into employees (id, email) values (120, 'b@gmail.com')");
+        jdbcTemplate.update("update employee_seq set next_val = 1000");
+
+        //when - action or the behaviour that we are going to test
+        new EmployeeSequenceMigration(dataSource).afterPropertiesSet();
+
+        //then- verify the output
+        assertThat(jdbcTemplate.queryForObject("select next_val from employee_seq", Long.class)).isEqualTo(1000L);
+    }
+}
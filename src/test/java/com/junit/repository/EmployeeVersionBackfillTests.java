@@ -0,0 +1,42 @@
+package com.junit.repository;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// the version column as the first schema update added it: nullable, next to rows that predate it
+public class EmployeeVersionBackfillTests {
+
+    private JdbcDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:version_backfill;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop table if exists employees");
+        jdbcTemplate.execute("create table employees (id bigint primary key, email varchar(255), version bigint)");
+    }
+
+    //    Junit test for backfilling rows without a version
+    @Test
+    @DisplayName("Junit test for backfilling rows without a version")
+    public void givenRowsWithoutVersion_whenBackfill_thenVersionZeroAndOthersUntouched() {
+
+        //given- precondition or setup
+        jdbcTemplate.update("insert into employees (id, email) values (1, 'a@gmail.com')");
+        jdbcTemplate.update("insert into employees (id, email, version) values (2, 'b@gmail.com', 3)");
+
+        //when - action or the behaviour that we are going to test
+        new EmployeeVersionBackfill(dataSource).afterPropertiesSet();
+
+        //then- verify the output
+        assertThat(jdbcTemplate.queryForObject("select version from employees where id = 1", Long.class)).isEqualTo(0L);
+        assertThat(jdbcTemplate.queryForObject("select version from employees where id = 2", Long.class)).isEqualTo(3L);
+    }
+}
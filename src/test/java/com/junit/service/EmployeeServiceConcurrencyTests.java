@@ -0,0 +1,159 @@
+package com.junit.service;
+
+import com.junit.cache.EmailBloomFilter;
+import com.junit.cache.EmployeeCache;
+import com.junit.concurrent.StripedLock;
+import com.junit.exception.ResourceAlreadyExistsException;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+// stress tests for the striped create lock against a repository that, like a table without the
+// unique index, happily stores duplicates and takes a few milliseconds per round trip
+public class EmployeeServiceConcurrencyTests {
+
+    private static final int THREADS = 8;
+    private static final long ROUND_TRIP_MILLIS = 3;
+
+    private EmployeeRepository employeeRepository;
+    private ConcurrentMap<String, AtomicInteger> rowsByEmail;
+
+    @BeforeEach
+    public void setup() {
+        rowsByEmail = new ConcurrentHashMap<>();
+        employeeRepository = mock(EmployeeRepository.class);
+        given(employeeRepository.existsByEmail(anyString())).willAnswer(invocation -> {
+            sleep(ROUND_TRIP_MILLIS);
+            AtomicInteger rows = rowsByEmail.get(invocation.<String>getArgument(0));
+            return rows != null && rows.get() > 0;
+        });
+        given(employeeRepository.save(any(Employee.class))).willAnswer(invocation -> {
+            sleep(ROUND_TRIP_MILLIS);
+            Employee employee = invocation.getArgument(0);
+            rowsByEmail.computeIfAbsent(employee.getEmail(), email -> new AtomicInteger()).incrementAndGet();
+            return employee;
+        });
+    }
+
+    //    Junit test for concurrent creates with the same emails
+    @Test
+    @DisplayName("Junit test for concurrent creates with the same emails")
+    public void givenConcurrentCreatesForSameEmails_whenSaveEmployee_thenEachEmailStoredOnce() throws Exception {
+
+        //given- precondition or setup
+        EmployeeServiceImpl employeeService = serviceWith(new StripedLock(64));
+        int emails = 20;
+        AtomicInteger rejected = new AtomicInteger();
+
+        //when - action or the behaviour that we are going to test
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < emails; i++) {
+                try {
+                    employeeService.saveEmployee(employee("employee" + i + "@gmail.com"));
+                } catch (ResourceAlreadyExistsException e) {
+                    rejected.incrementAndGet();
+                }
+            }
+        });
+
+        //then- verify the output
+        assertThat(rowsByEmail).hasSize(emails);
+        assertThat(rowsByEmail.values()).allSatisfy(rows -> assertThat(rows.get()).isEqualTo(1));
+        assertThat(rejected.get()).isEqualTo((THREADS - 1) * emails);
+    }
+
+    //    Junit test for creates with different emails running in parallel
+    @Test
+    @DisplayName("Junit test for creates with different emails running in parallel")
+    public void givenDistinctEmails_whenSaveEmployeeConcurrently_thenStripedLockOutrunsGlobalLock() throws Exception {
+
+        //given- precondition or setup
+        int perThread = 15;
+
+        //when - action or the behaviour that we are going to test
+        long globalLockNanos = timeDistinctCreates(serviceWith(new StripedLock(1)), "global", perThread);
+        long stripedLockNanos = timeDistinctCreates(serviceWith(new StripedLock(64)), "striped", perThread);
+
+        //then- verify the output
+        assertThat(rowsByEmail).hasSize(2 * THREADS * perThread);
+        assertThat(stripedLockNanos * 2).isLessThan(globalLockNanos);
+    }
+
+    private long timeDistinctCreates(EmployeeServiceImpl employeeService, String prefix, int perThread) throws Exception {
+        long start = System.nanoTime();
+        runConcurrently(THREADS, thread -> {
+            for (int i = 0; i < perThread; i++) {
+                employeeService.saveEmployee(employee(prefix + "-" + thread + "-" + i + "@gmail.com"));
+            }
+        });
+        return System.nanoTime() - start;
+    }
+
+    private EmployeeServiceImpl serviceWith(StripedLock emailLocks) {
+        return new EmployeeServiceImpl(employeeRepository, null,
+                new EmployeeCache(100, Duration.ofMinutes(1)),
+                new EmailBloomFilter(null, null, 1000, 0.01, true),
+                emailLocks, mock(ObjectProvider.class));
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email(email)
+                .build();
+    }
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    private static void runConcurrently(int threads, Worker worker) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                worker.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
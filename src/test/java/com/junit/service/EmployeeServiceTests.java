@@ -1,6 +1,15 @@
 package com.junit.service;
 
 
+import com.junit.cache.EmailBloomFilter;
+import com.junit.cache.EmployeeCache;
+import com.junit.concurrent.StripedLock;
+import com.junit.datasource.HedgedEmployeeReader;
+import com.junit.dto.EmployeeField;
+import com.junit.dto.EmployeeFieldsPage;
+import com.junit.dto.EmployeeLookupResult;
+import com.junit.dto.EmployeePage;
+import com.junit.dto.EmployeePatch;
 import com.junit.exception.ResourceAlreadyExistsException;
 import com.junit.exception.ResourceNotFoundException;
 import com.junit.model.Employee;
@@ -16,16 +25,30 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.mockito.Mockito.*;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +56,18 @@ public class EmployeeServiceTests {
 
     @Mock
     private EmployeeRepository employeeRepository;
+    @Mock
+    private EntityManager entityManager;
+    @Spy
+    private EmployeeCache employeeCache = new EmployeeCache(100, Duration.ofMinutes(1));
+    // never loaded here, so every email is a possible hit and goes to existsByEmail
+    @Spy
+    private EmailBloomFilter emailBloomFilter = new EmailBloomFilter(null, null, 1000, 0.01, true);
+    @Spy
+    private StripedLock emailLocks = new StripedLock(16);
+    // hedged reads disabled: getIfAvailable answers null
+    @Mock
+    private ObjectProvider<HedgedEmployeeReader> hedgedEmployeeReader;
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -55,8 +90,8 @@ public class EmployeeServiceTests {
 
         //given- precondition or setup
 
-        given(employeeRepository.findByEmail(employee1.getEmail()))//with this email nothing found in database
-                .willReturn(Optional.empty());
+        given(employeeRepository.existsByEmail(employee1.getEmail()))//with this email nothing found in database
+                .willReturn(false);
 
         given(employeeRepository.save(employee1)).willReturn(employee1);
 
@@ -75,8 +110,8 @@ public class EmployeeServiceTests {
 
         //given- precondition or setup
 
-        given(employeeRepository.findByEmail(employee1.getEmail())) //this email already found in the database
-                .willReturn(Optional.of(employee1));
+        given(employeeRepository.existsByEmail(employee1.getEmail())) //this email already found in the database
+                .willReturn(true);
 
 
         //when - action or the behaviour that we are going to test
@@ -90,6 +125,63 @@ public class EmployeeServiceTests {
     }
 
 
+    //    Junit test for savedEmployee method losing a concurrent create race
+    @Test
+    @DisplayName(" Junit test for saveEmployeeMethod mapping the unique email violation")
+    public void givenConcurrentCreateWithSameEmail_whenSaveEmployee_thenThrowsException() {
+
+        //given- precondition or setup
+        given(employeeRepository.existsByEmail(employee1.getEmail()))
+                .willReturn(false);
+        given(employeeRepository.save(employee1)).willThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("duplicate", new SQLException(), Employee.EMAIL_UNIQUE_CONSTRAINT)));
+
+        //when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ResourceAlreadyExistsException.class, () -> {
+            employeeService.saveEmployee(employee1);
+        });
+    }
+
+    //    Junit test for saveAllEmployees method
+    @Test
+    @DisplayName(" Junit test for saveAllEmployees method")
+    public void givenEmployeeList_whenSaveAllEmployees_thenCheckEmailsOnceAndSaveEach() {
+
+        Employee employee2 = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        //given- precondition or setup
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(Collections.emptyList());
+
+        //when - action or the behaviour that we are going to test
+        List<Employee> savedEmployees = employeeService.saveAllEmployees(List.of(employee1, employee2));
+
+        //then- verify the output
+        assertThat(savedEmployees).containsExactly(employee1, employee2);
+        verify(employeeRepository, times(1)).findExistingEmails(anyCollection());
+        verify(employeeRepository, times(2)).save(any(Employee.class));
+        verify(employeeRepository, never()).existsByEmail(any());
+    }
+
+    //    Junit test for saveAllEmployees method which throws Exception
+    @Test
+    @DisplayName(" Junit test for saveAllEmployees method which throws exception")
+    public void givenExistingEmail_whenSaveAllEmployees_thenThrowsException() {
+
+        //given- precondition or setup
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of(employee1.getEmail()));
+
+        //when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ResourceAlreadyExistsException.class, () -> {
+            employeeService.saveAllEmployees(List.of(employee1));
+        });
+
+        //then- verify the output
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
     //    Junit test for getAllEmployees method
         @Test
         @DisplayName(" Junit test for getAllEmployees method")
@@ -102,7 +194,7 @@ public class EmployeeServiceTests {
                     .email("rahul.maithani1@gmail.com")
                     .build();
             //given- precondition or setup
-            given(employeeRepository.findAll()).willReturn(List.of(employee1,employee2));
+            given(employeeRepository.findAll(Sort.by("id"))).willReturn(List.of(employee1,employee2));
 
             //when - action or the behaviour that we are going to test
             List<Employee> employeeList=employeeService.getAllEmployees();
@@ -124,7 +216,7 @@ public class EmployeeServiceTests {
                 .email("rahul.maithani1@gmail.com")
                 .build();
         //given- precondition or setup
-        given(employeeRepository.findAll()).willReturn(Collections.emptyList());
+        given(employeeRepository.findAll(Sort.by("id"))).willReturn(Collections.emptyList());
 
         //when - action or the behaviour that we are going to test
         List<Employee> employeeList=employeeService.getAllEmployees();
@@ -134,6 +226,69 @@ public class EmployeeServiceTests {
         assertThat(employeeList.size()).isEqualTo(0);
     }
 
+    //    Junit test for getEmployeesAfter method
+    @Test
+    @DisplayName(" Junit test for getEmployeesAfter method")
+    public void givenMoreRowsThanLimit_whenGetEmployeesAfter_thenReturnPageWithNextCursor(){
+
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        //given- precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2)))
+                .willReturn(List.of(employee1, employee2));
+
+        //when - action or the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesAfter(0L, 1);
+
+        //then- verify the output
+        assertThat(page.getContent()).containsExactly(employee1);
+        assertThat(page.getNextCursor()).isEqualTo(employee1.getId());
+    }
+
+    //    Junit test for getEmployeesAfter method on the last page
+    @Test
+    @DisplayName(" Junit test for getEmployeesAfter method on the last page")
+    public void givenFewerRowsThanLimit_whenGetEmployeesAfter_thenReturnPageWithoutCursor(){
+
+        //given- precondition or setup
+        given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 11)))
+                .willReturn(List.of(employee1));
+
+        //when - action or the behaviour that we are going to test
+        EmployeePage page = employeeService.getEmployeesAfter(0L, 10);
+
+        //then- verify the output
+        assertThat(page.getContent()).containsExactly(employee1);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    //    Junit test for getEmployeesAfter method with a sparse fieldset
+    @Test
+    @DisplayName(" Junit test for getEmployeesAfter method with a sparse fieldset")
+    public void givenFieldsWithoutId_whenGetEmployeesAfter_thenSelectIdForCursor(){
+
+        //given- precondition or setup
+        List<EmployeeField> selected = List.of(EmployeeField.ID, EmployeeField.FIRST_NAME);
+        Map<String, Object> row1 = new LinkedHashMap<>();
+        row1.put("id", 11L);
+        row1.put("firstName", "Vaibhav");
+        Map<String, Object> row2 = new LinkedHashMap<>();
+        row2.put("id", 12L);
+        row2.put("firstName", "Rahul");
+        given(employeeRepository.findFieldsByIdGreaterThan(selected, 10L, 2)).willReturn(List.of(row1, row2));
+
+        //when - action or the behaviour that we are going to test
+        EmployeeFieldsPage page = employeeService.getEmployeesAfter(10L, 1, List.of(EmployeeField.FIRST_NAME));
+
+        //then- verify the output
+        assertThat(page.getContent()).containsExactly(row1);
+        assertThat(page.getNextCursor()).isEqualTo(11L);
+    }
+
     //    Junit test for getEmployeeById method
         @Test
         @DisplayName(" Junit test for getEmployeeById method")
@@ -149,6 +304,65 @@ public class EmployeeServiceTests {
             assertThat(savedEmployee).isNotNull();
         }
 
+    //    Junit test for getEmployeesByIds method
+    @Test
+    @DisplayName(" Junit test for getEmployeesByIds method")
+    public void givenIds_whenGetEmployeesByIds_thenReturnInRequestOrderWithMissingIds(){
+
+        Employee employee2 = Employee.builder()
+                .id(2L)
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+        //given- precondition or setup
+        given(employeeRepository.findAllById(List.of(2L, 7L, 1L))).willReturn(List.of(employee1, employee2));
+
+        //when - action or the behaviour that we are going to test
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(List.of(2L, 7L, 1L, 2L));
+
+        //then- verify the output
+        assertThat(result.getEmployees()).containsExactly(employee2, employee1);
+        assertThat(result.getMissingIds()).containsExactly(7L);
+    }
+
+    //    Junit test for getEmployeesByIds method chunking large requests
+    @Test
+    @DisplayName(" Junit test for getEmployeesByIds method chunking large requests")
+    public void givenMoreIdsThanChunkSize_whenGetEmployeesByIds_thenQueryOncePerChunk(){
+
+        //given- precondition or setup
+        List<Long> ids = new java.util.ArrayList<>();
+        for (long id = 1; id <= 1100; id++) {
+            ids.add(id);
+        }
+        given(employeeRepository.findAllById(anyList())).willReturn(Collections.emptyList());
+
+        //when - action or the behaviour that we are going to test
+        EmployeeLookupResult result = employeeService.getEmployeesByIds(ids);
+
+        //then- verify the output
+        assertThat(result.getMissingIds()).hasSize(1100);
+        verify(employeeRepository, times(3)).findAllById(anyList());
+    }
+
+    //    Junit test for getEmployeeById method served from the cache
+    @Test
+    @DisplayName(" Junit test for getEmployeeById method served from the cache")
+    public void givenCachedEmployee_whenGetEmployeeByIdTwice_thenLoadFromRepositoryOnce(){
+
+        //given- precondition or setup
+        given(employeeRepository.findById(employee1.getId())).willReturn(Optional.of(employee1));
+
+        //when - action or the behaviour that we are going to test
+        employeeService.getEmployeeById(employee1.getId());
+        Employee cachedEmployee = employeeService.getEmployeeById(employee1.getId()).get();
+
+        //then- verify the output
+        assertThat(cachedEmployee.getEmail()).isEqualTo(employee1.getEmail());
+        verify(employeeRepository, times(1)).findById(employee1.getId());
+    }
+
     //    Junit test for findById method which throws Exception
 
         @Test
@@ -189,19 +403,143 @@ public class EmployeeServiceTests {
                 assertThat(updatedEmployee.getEmail()).isEqualTo("rahul.maithani1@gmail.com");
             }
 
+    //    Junit test for updateEmployee by id method
+    @Test
+    @DisplayName(" Junit test for updateEmployee by id method")
+    public void givenEmployeeIdAndChanges_whenUpdateEmployee_thenManagedEntityUpdatedWithoutSave(){
+
+        //given- precondition or setup
+        given(employeeRepository.findById(employee1.getId())).willReturn(Optional.of(employee1));
+        Employee changes = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .email("rahul.maithani1@gmail.com")
+                .build();
+
+        //when - action or the behaviour that we are going to test
+        Employee updatedEmployee = employeeService.updateEmployee(employee1.getId(), changes);
+
+        //then- verify the output
+        assertThat(updatedEmployee).isSameAs(employee1);
+        assertThat(updatedEmployee.getFirstName()).isEqualTo("Rahul");
+        assertThat(updatedEmployee.getEmail()).isEqualTo("rahul.maithani1@gmail.com");
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    //    Junit test for updateEmployee by id method with an unknown id
+    @Test
+    @DisplayName(" Junit test for updateEmployee by id method with an unknown id")
+    public void givenInvalidEmployeeId_whenUpdateEmployee_thenThrowsException(){
+
+        //given- precondition or setup
+        given(employeeRepository.findById(employee1.getId())).willReturn(Optional.empty());
+
+        //when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.updateEmployee(employee1.getId(), employee1);
+        });
+
+        //then- verify the output
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    //    Junit test for patchEmployee method
+    @Test
+    @DisplayName(" Junit test for patchEmployee method")
+    public void givenPartialChanges_whenPatchEmployee_thenOnlySuppliedFieldsChange(){
+
+        //given- precondition or setup
+        employee1.setVersion(3L);
+        given(employeeRepository.findById(employee1.getId())).willReturn(Optional.of(employee1));
+        EmployeePatch patch = EmployeePatch.builder()
+                .firstName("Rahul")
+                .version(3L)
+                .build();
+
+        //when - action or the behaviour that we are going to test
+        Employee patchedEmployee = employeeService.patchEmployee(employee1.getId(), patch);
+
+        //then- verify the output
+        assertThat(patchedEmployee.getFirstName()).isEqualTo("Rahul");
+        assertThat(patchedEmployee.getLastName()).isEqualTo("Maithani");
+        assertThat(patchedEmployee.getEmail()).isEqualTo("vaibhav.maithani1@gmail.com");
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    //    Junit test for patchEmployee method with a stale version
+    @Test
+    @DisplayName(" Junit test for patchEmployee method with a stale version")
+    public void givenStaleVersion_whenPatchEmployee_thenThrowsException(){
+
+        //given- precondition or setup
+        employee1.setVersion(4L);
+        given(employeeRepository.findById(employee1.getId())).willReturn(Optional.of(employee1));
+        EmployeePatch patch = EmployeePatch.builder()
+                .firstName("Rahul")
+                .version(3L)
+                .build();
+
+        //when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ObjectOptimisticLockingFailureException.class, () -> {
+            employeeService.patchEmployee(employee1.getId(), patch);
+        });
+
+        //then- verify the output
+        assertThat(employee1.getFirstName()).isEqualTo("Vaibhav");
+    }
+
+    //    Junit test for upsertEmployee method
+    @Test
+    @DisplayName(" Junit test for upsertEmployee method")
+    public void givenEmailAndEmployee_whenUpsertEmployee_thenUpsertByEmailWithoutPreRead(){
+
+        //given- precondition or setup
+        Employee changes = Employee.builder()
+                .firstName("Rahul")
+                .lastName("Maithani")
+                .build();
+        given(employeeRepository.upsertByEmail(changes)).willReturn(employee1);
+
+        //when - action or the behaviour that we are going to test
+        Employee upsertedEmployee = employeeService.upsertEmployee(employee1.getEmail(), changes);
+
+        //then- verify the output
+        assertThat(changes.getEmail()).isEqualTo(employee1.getEmail());
+        assertThat(upsertedEmployee).isSameAs(employee1);
+        verify(employeeRepository, never()).existsByEmail(any());
+    }
+
             //    Junit test for deleteEmployee method
                 @Test
                 @DisplayName(" Junit test for deleteEmployee method")
                 public void givenEmployeeId_whenDeleteEmployee_thenReturnNothing(){
 
                     //given- precondition or setup
-                    willDoNothing().given(employeeRepository).deleteById(1L);
+                    given(employeeRepository.deleteEmployeeById(1L)).willReturn(1);
 
                     //when - action or the behaviour that we are going to test
                     employeeService.deleteEmployee(1L);
 
                     //then- verify the output
-                    verify(employeeRepository,times(1)).deleteById(1L);
+                    verify(employeeRepository,times(1)).deleteEmployeeById(1L);
+                    verify(employeeRepository, never()).findById(1L);
                 }
 
+    //    Junit test for deleteEmployee method with an unknown id
+    @Test
+    @DisplayName(" Junit test for deleteEmployee method with an unknown id")
+    public void givenInvalidEmployeeId_whenDeleteEmployee_thenThrowsException(){
+
+        //given- precondition or setup
+        given(employeeRepository.deleteEmployeeById(1L)).willReturn(0);
+
+        //when - action or the behaviour that we are going to test
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> {
+            employeeService.deleteEmployee(1L);
+        });
+
+        //then- verify the output
+        verify(employeeRepository,times(1)).deleteEmployeeById(1L);
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.junit.writebehind;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedQueueTests {
+
+    private static final int THREADS = 8;
+
+    //    Junit test for the capacity under concurrent producers
+    @Test
+    @DisplayName("Junit test for the capacity under concurrent producers")
+    public void givenConcurrentProducers_whenOffer_thenNeverMoreThanCapacity() throws Exception {
+
+        //given- precondition or setup
+        BoundedQueue<Integer> queue = new BoundedQueue<>(100);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        //when - action or the behaviour that we are going to test
+        List<Future<Integer>> accepted = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            accepted.add(executor.submit(() -> {
+                start.await();
+                int count = 0;
+                for (int i = 0; i < 1000; i++) {
+                    if (queue.offer(i)) {
+                        count++;
+                    }
+                }
+                return count;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> future : accepted) {
+            total += future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdownNow();
+
+        //then- verify the output
+        assertThat(total).isEqualTo(100);
+        assertThat(queue.size()).isEqualTo(100);
+        assertThat(queue.drain(1000)).hasSize(100);
+    }
+
+    //    Junit test for draining freeing capacity
+    @Test
+    @DisplayName("Junit test for draining freeing capacity")
+    public void givenFullQueue_whenDrain_thenAcceptsAgainInOrder() {
+
+        //given- precondition or setup
+        BoundedQueue<Integer> queue = new BoundedQueue<>(3);
+        queue.offer(1);
+        queue.offer(2);
+        queue.offer(3);
+
+        //when - action or the behaviour that we are going to test
+        boolean acceptedWhenFull = queue.offer(4);
+        List<Integer> drained = queue.drain(2);
+        boolean acceptedAfterDrain = queue.offer(5);
+
+        //then- verify the output
+        assertThat(acceptedWhenFull).isFalse();
+        assertThat(drained).containsExactly(1, 2);
+        assertThat(acceptedAfterDrain).isTrue();
+        assertThat(queue.drain(10)).containsExactly(3, 5);
+        assertThat(queue.size()).isZero();
+    }
+}
@@ -0,0 +1,99 @@
+package com.junit.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.model.Employee;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CreateJournalTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    //    Junit test for replaying unfinished creates
+    @Test
+    @DisplayName("Junit test for replaying unfinished creates")
+    public void givenUnfinishedCreates_whenReopened_thenOnlyThoseAreReplayed() throws Exception {
+
+        //given- precondition or setup
+        Path path = directory.resolve("journal.ndjson");
+        CreateJournal journal = new CreateJournal(path, CreateJournal.Durability.FSYNC, objectMapper);
+        journal.open();
+        journal.enqueued("t1", employee("one@gmail.com"));
+        journal.enqueued("t2", employee("two@gmail.com"));
+        journal.enqueued("t3", employee("three@gmail.com"));
+        journal.done(List.of("t2"));
+        journal.close();
+
+        //when - action or the behaviour that we are going to test
+        CreateJournal reopened = new CreateJournal(path, CreateJournal.Durability.FSYNC, objectMapper);
+        List<CreateJournal.Entry> unfinished = reopened.open();
+        reopened.close();
+
+        //then- verify the output
+        assertThat(unfinished).extracting(CreateJournal.Entry::getTrackingId).containsExactly("t1", "t3");
+        assertThat(unfinished.get(0).getEmployee().getEmail()).isEqualTo("one@gmail.com");
+    }
+
+    //    Junit test for truncating the journal once nothing is outstanding
+    @Test
+    @DisplayName("Junit test for truncating the journal once nothing is outstanding")
+    public void givenAllCreatesDone_whenDone_thenJournalIsEmpty() throws Exception {
+
+        //given- precondition or setup
+        Path path = directory.resolve("journal.ndjson");
+        CreateJournal journal = new CreateJournal(path, CreateJournal.Durability.WRITE, objectMapper);
+        journal.open();
+        journal.enqueued("t1", employee("one@gmail.com"));
+        journal.enqueued("t2", employee("two@gmail.com"));
+
+        //when - action or the behaviour that we are going to test
+        journal.done(List.of("t1", "t2"));
+        journal.close();
+
+        //then- verify the output
+        assertThat(Files.size(path)).isZero();
+    }
+
+    //    Junit test for a line torn by a crash
+    @Test
+    @DisplayName("Junit test for a line torn by a crash")
+    public void givenTornLastLine_whenReopened_thenItIsIgnored() throws Exception {
+
+        //given- precondition or setup
+        Path path = directory.resolve("journal.ndjson");
+        CreateJournal journal = new CreateJournal(path, CreateJournal.Durability.WRITE, objectMapper);
+        journal.open();
+        journal.enqueued("t1", employee("one@gmail.com"));
+        journal.close();
+        Files.write(path, "{\"op\":\"enqueued\",\"trackingId\":\"t2\",\"empl".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        //when - action or the behaviour that we are going to test
+        CreateJournal reopened = new CreateJournal(path, CreateJournal.Durability.WRITE, objectMapper);
+        List<CreateJournal.Entry> unfinished = reopened.open();
+        reopened.close();
+
+        //then- verify the output
+        assertThat(unfinished).extracting(CreateJournal.Entry::getTrackingId).containsExactly("t1");
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email(email)
+                .build();
+    }
+}
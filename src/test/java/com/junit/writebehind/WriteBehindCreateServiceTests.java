@@ -0,0 +1,241 @@
+package com.junit.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.junit.cache.EmailBloomFilter;
+import com.junit.dto.CreateStatus;
+import com.junit.exception.CreateQueueFullException;
+import com.junit.model.Employee;
+import com.junit.repository.EmployeeRepository;
+import com.junit.servcie.EmployeeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// the transaction manager is a mock, so TransactionTemplate just runs the callback
+public class WriteBehindCreateServiceTests {
+
+    private EmployeeRepository employeeRepository;
+    private EmployeeService employeeService;
+    private WriteBehindCreateService writeBehindCreateService;
+    private final AtomicLong ids = new AtomicLong();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    public void setup() {
+        employeeRepository = mock(EmployeeRepository.class);
+        employeeService = mock(EmployeeService.class);
+        given(employeeRepository.save(any(Employee.class))).willAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(ids.incrementAndGet());
+            return employee;
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (writeBehindCreateService != null && writeBehindCreateService.isRunning()) {
+            writeBehindCreateService.stop();
+        }
+    }
+
+    //    Junit test for one batch of creates
+    @Test
+    @DisplayName("Junit test for one batch of creates")
+    public void givenBatchWithDuplicates_whenFlush_thenOneEmailCheckAndOnlyNewEmployeesSaved() {
+
+        //given- precondition or setup
+        writeBehindCreateService = service(10, 10);
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of("taken@gmail.com"));
+        List<WriteBehindCreateService.PendingCreate> batch = List.of(
+                new WriteBehindCreateService.PendingCreate("t1", employee("new@gmail.com")),
+                new WriteBehindCreateService.PendingCreate("t2", employee("NEW@gmail.com")),
+                new WriteBehindCreateService.PendingCreate("t3", employee("taken@gmail.com")));
+
+        //when - action or the behaviour that we are going to test
+        writeBehindCreateService.flush(batch);
+
+        //then- verify the output
+        assertThat(writeBehindCreateService.getStatus("t1")).get()
+                .extracting(CreateStatus::getState).isEqualTo(CreateStatus.State.CREATED);
+        assertThat(writeBehindCreateService.getStatus("t1").get().getEmployeeId()).isEqualTo(1L);
+        assertThat(writeBehindCreateService.getStatus("t2")).get()
+                .extracting(CreateStatus::getState).isEqualTo(CreateStatus.State.REJECTED);
+        assertThat(writeBehindCreateService.getStatus("t3")).get()
+                .extracting(CreateStatus::getState).isEqualTo(CreateStatus.State.REJECTED);
+        verify(employeeRepository, times(1)).findExistingEmails(anyCollection());
+        verify(employeeRepository, times(1)).save(any(Employee.class));
+    }
+
+    //    Junit test for a batch colliding with a synchronous create
+    @Test
+    @DisplayName("Junit test for a batch colliding with a synchronous create")
+    public void givenBatchInsertViolatesUniqueIndex_whenFlush_thenCreatesRetriedOneByOne() {
+
+        //given- precondition or setup
+        writeBehindCreateService = service(10, 10);
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        given(employeeRepository.save(any(Employee.class))).willThrow(new DataIntegrityViolationException("uk_employees_email"));
+        given(employeeService.saveEmployee(any(Employee.class))).willAnswer(invocation -> {
+            Employee employee = invocation.getArgument(0);
+            employee.setId(42L);
+            return employee;
+        });
+
+        //when - action or the behaviour that we are going to test
+        writeBehindCreateService.flush(List.of(new WriteBehindCreateService.PendingCreate("t1", employee("new@gmail.com"))));
+
+        //then- verify the output
+        assertThat(writeBehindCreateService.getStatus("t1").get().getState()).isEqualTo(CreateStatus.State.CREATED);
+        assertThat(writeBehindCreateService.getStatus("t1").get().getEmployeeId()).isEqualTo(42L);
+    }
+
+    //    Junit test for replaying a create that had committed before a crash
+    @Test
+    @DisplayName("Junit test for replaying a create that had committed before a crash")
+    public void givenReplayedCreateAlreadyStored_whenFlush_thenCreatedWithStoredId() {
+
+        //given- precondition or setup
+        writeBehindCreateService = service(10, 10);
+        Employee stored = employee("new@gmail.com");
+        stored.setId(7L);
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of("new@gmail.com", "taken@gmail.com"));
+        given(employeeRepository.findByEmail("new@gmail.com")).willReturn(Optional.of(stored));
+        given(employeeRepository.findByEmail("taken@gmail.com")).willReturn(Optional.of(Employee.builder()
+                .id(8L).firstName("Rahul").lastName("Maithani").email("taken@gmail.com").build()));
+
+        //when - action or the behaviour that we are going to test
+        writeBehindCreateService.flush(List.of(
+                new WriteBehindCreateService.PendingCreate("t1", employee("new@gmail.com"), true),
+                new WriteBehindCreateService.PendingCreate("t2", employee("taken@gmail.com"), true)));
+
+        //then- verify the output
+        assertThat(writeBehindCreateService.getStatus("t1").get().getState()).isEqualTo(CreateStatus.State.CREATED);
+        assertThat(writeBehindCreateService.getStatus("t1").get().getEmployeeId()).isEqualTo(7L);
+        assertThat(writeBehindCreateService.getStatus("t2").get().getState()).isEqualTo(CreateStatus.State.REJECTED);
+        verify(employeeRepository, never()).save(any(Employee.class));
+    }
+
+    //    Junit test for back-pressure when the queue is full
+    @Test
+    @DisplayName("Junit test for back-pressure when the queue is full")
+    public void givenQueueFull_whenEnqueue_thenThrowsException() {
+
+        //given- precondition or setup
+        writeBehindCreateService = service(1, 10);
+        writeBehindCreateService.start();
+        writeBehindCreateService.enqueue(employee("one@gmail.com"));
+
+        //when - action or the behaviour that we are going to test
+
+        //then- verify the output
+        assertThatThrownBy(() -> writeBehindCreateService.enqueue(employee("two@gmail.com")))
+                .isInstanceOf(CreateQueueFullException.class);
+    }
+
+    //    Junit test for a full batch flushed without waiting for the interval
+    @Test
+    @DisplayName("Junit test for a full batch flushed without waiting for the interval")
+    public void givenBatchSizeReached_whenEnqueue_thenFlushedBeforeTheInterval() throws Exception {
+
+        //given- precondition or setup
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        writeBehindCreateService = service(10, 2);
+        writeBehindCreateService.start();
+
+        //when - action or the behaviour that we are going to test
+        String first = writeBehindCreateService.enqueue(employee("one@gmail.com")).getTrackingId();
+        String second = writeBehindCreateService.enqueue(employee("two@gmail.com")).getTrackingId();
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (writeBehindCreateService.getStatus(second).get().getState() == CreateStatus.State.PENDING
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        //then- verify the output
+        assertThat(writeBehindCreateService.getStatus(first).get().getState()).isEqualTo(CreateStatus.State.CREATED);
+        assertThat(writeBehindCreateService.getStatus(second).get().getState()).isEqualTo(CreateStatus.State.CREATED);
+    }
+
+    //    Junit test for creates racing with shutdown
+    @Test
+    @DisplayName("Junit test for creates racing with shutdown")
+    public void givenConcurrentEnqueues_whenStop_thenEveryAcceptedCreateIsFlushed() throws Exception {
+
+        //given- precondition or setup
+        given(employeeRepository.findExistingEmails(anyCollection())).willReturn(List.of());
+        writeBehindCreateService = service(100_000, 50);
+        writeBehindCreateService.start();
+        Queue<String> accepted = new ConcurrentLinkedQueue<>();
+        AtomicInteger emails = new AtomicInteger();
+        ExecutorService producers = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 4; i++) {
+            producers.execute(() -> {
+                try {
+                    while (true) {
+                        accepted.add(writeBehindCreateService.enqueue(
+                                employee("user" + emails.incrementAndGet() + "@gmail.com")).getTrackingId());
+                    }
+                } catch (CreateQueueFullException e) {
+                    // stopped
+                }
+            });
+        }
+        Thread.sleep(50);
+
+        //when - action or the behaviour that we are going to test
+        writeBehindCreateService.stop();
+        producers.shutdown();
+        producers.awaitTermination(5, TimeUnit.SECONDS);
+
+        //then- verify the output
+        assertThat(accepted).isNotEmpty();
+        assertThat(accepted).allSatisfy(trackingId -> assertThat(writeBehindCreateService.getStatus(trackingId).get()
+                .getState()).isEqualTo(CreateStatus.State.CREATED));
+        assertThatThrownBy(() -> writeBehindCreateService.enqueue(employee("late@gmail.com")))
+                .isInstanceOf(CreateQueueFullException.class);
+    }
+
+    // the flush interval is far beyond the test, only a full batch or stop() flushes
+    private WriteBehindCreateService service(int capacity, int batchSize) {
+        return new WriteBehindCreateService(employeeRepository, employeeService,
+                new EmailBloomFilter(null, null, 1000, 0.01, true), mock(PlatformTransactionManager.class),
+                new ObjectMapper(), capacity, batchSize, Duration.ofHours(1), Duration.ofHours(1),
+                directory.resolve("journal.ndjson"), CreateJournal.Durability.WRITE);
+    }
+
+    private static Employee employee(String email) {
+        return Employee.builder()
+                .firstName("Vaibhav")
+                .lastName("Maithani")
+                .email(email)
+                .build();
+    }
+}